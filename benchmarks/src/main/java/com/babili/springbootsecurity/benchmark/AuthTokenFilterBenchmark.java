@@ -0,0 +1,66 @@
+package com.babili.springbootsecurity.benchmark;
+
+import com.babili.springbootsecurity.entity.Role;
+import com.babili.springbootsecurity.security.AuthTokenFilter;
+import com.babili.springbootsecurity.security.UserPrincipal;
+import com.babili.springbootsecurity.security.VerifiedTokenCache;
+import com.babili.springbootsecurity.util.JwtUtils;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One authenticated request through AuthTokenFilter, with a UserDetailsService stub so only
+ * the filter's own work is measured: header parsing, JWT verification (or the verified-token
+ * cache), principal construction and the SecurityContext update.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthTokenFilterBenchmark {
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> {
+    };
+
+    @Param({"true", "false"})
+    private boolean tokenCacheEnabled;
+
+    @Param({"false", "true"})
+    private boolean statelessPrincipal;
+
+    private AuthTokenFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        UserPrincipal principal = new UserPrincipal(1L, JwtUtilsBenchmark.USERNAME, "{bcrypt}hash",
+                UserPrincipal.authoritiesFor(Role.USER), true, false);
+        UserDetailsService userDetailsService = username -> principal;
+
+        JwtUtils jwtUtils = JwtUtilsBenchmark.newJwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "statelessPrincipalEnabled", statelessPrincipal);
+        filter = new AuthTokenFilter(jwtUtils, userDetailsService, new VerifiedTokenCache(tokenCacheEnabled, 10_000));
+
+        request = new MockHttpServletRequest("GET", "/api/auth/2fa/qr-code");
+        request.addHeader("Authorization", "Bearer " + jwtUtils.generateJwtToken(principal));
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Authentication filter() throws Exception {
+        filter.doFilter(request, response, NO_OP_CHAIN);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
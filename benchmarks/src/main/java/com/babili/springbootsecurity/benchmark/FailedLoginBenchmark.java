@@ -0,0 +1,93 @@
+package com.babili.springbootsecurity.benchmark;
+
+import com.babili.springbootsecurity.dto.LoginRequest;
+import com.babili.springbootsecurity.entity.User;
+import com.babili.springbootsecurity.exception.AuthFailureException;
+import com.babili.springbootsecurity.service.AuthService;
+import com.babili.springbootsecurity.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of signalling a failed login. legacyFailure reproduces the old contract (a fresh
+ * RuntimeException matched by message in the controller), typedFailure the preallocated
+ * stackless AuthFailureException. Stack capture grows with depth, and a real request sits
+ * roughly 100 frames deep in the servlet and security filter chains.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FailedLoginBenchmark {
+    private static final String LEGACY_TWO_FACTOR_REQUIRED = "Two-factor authentication required";
+
+    @Param({"1", "100"})
+    public int depth;
+
+    private AuthService authService;
+    private LoginRequest request;
+
+    @Setup
+    public void setUp() {
+        UserService userService = new UserService(null, null, null) {
+            @Override
+            public Optional<User> findByEmail(String email) {
+                return Optional.empty();
+            }
+        };
+        authService = new AuthService(null, userService, null, null, null, new SimpleMeterRegistry());
+        request = new LoginRequest();
+        request.setEmail(JwtUtilsBenchmark.USERNAME);
+        request.setPassword("password");
+    }
+
+    @Benchmark
+    public HttpStatus legacyFailure() {
+        try {
+            return atDepth(depth, () -> {
+                throw new RuntimeException("User not found");
+            });
+        } catch (RuntimeException e) {
+            return e.getMessage().equals(LEGACY_TWO_FACTOR_REQUIRED) ? HttpStatus.PARTIAL_CONTENT : HttpStatus.BAD_REQUEST;
+        }
+    }
+
+    @Benchmark
+    public HttpStatus typedFailure() {
+        try {
+            return atDepth(depth, () -> {
+                throw AuthFailureException.of(AuthFailureException.Reason.USER_NOT_FOUND);
+            });
+        } catch (AuthFailureException e) {
+            return e.getReason().getStatus();
+        }
+    }
+
+    // The full service path: JFR event, request trace stage and failure counter included
+    @Benchmark
+    public HttpStatus loginUnknownUser() {
+        try {
+            return atDepth(depth, () -> {
+                authService.login(request);
+                return HttpStatus.OK;
+            });
+        } catch (AuthFailureException e) {
+            return e.getReason().getStatus();
+        }
+    }
+
+    private static HttpStatus atDepth(int depth, Step step) {
+        return depth <= 1 ? step.run() : atDepth(depth - 1, step);
+    }
+
+    @FunctionalInterface
+    private interface Step {
+        HttpStatus run();
+    }
+}
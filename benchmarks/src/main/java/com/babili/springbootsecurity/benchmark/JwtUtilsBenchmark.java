@@ -0,0 +1,86 @@
+package com.babili.springbootsecurity.benchmark;
+
+import com.babili.springbootsecurity.util.JwtUtils;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-call key derivation and parser construction JwtUtils used to do
+ * ("legacy" methods) with the precomputed key and shared parser it uses now.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtUtilsBenchmark {
+    static final String SECRET =
+            "myVeryLongSecretKeyThatIsAtLeast64BytesLongForHS512AlgorithmToWorkProperlyAndSecurely123456789";
+    static final int EXPIRATION_MS = 86400000;
+    static final String USERNAME = "benchmark@example.com";
+
+    private JwtUtils jwtUtils;
+    private String token;
+    private String forgedToken;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = newJwtUtils();
+        token = jwtUtils.generateTokenFromUsername(USERNAME);
+        forgedToken = token.substring(0, token.length() - 4) + "AAAA";
+    }
+
+    static JwtUtils newJwtUtils() {
+        JwtUtils jwtUtils = new JwtUtils(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", EXPIRATION_MS);
+        jwtUtils.init();
+        return jwtUtils;
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtils.generateTokenFromUsername(USERNAME);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtils.validateJwtToken(token);
+    }
+
+    // The cost of turning away a token with a bad signature
+    @Benchmark
+    public boolean rejectForgedToken() {
+        return jwtUtils.validateJwtToken(forgedToken);
+    }
+
+    @Benchmark
+    public String getUserName() {
+        return jwtUtils.getUserNameFromJwtToken(token);
+    }
+
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public String legacyGenerateToken() {
+        return Jwts.builder()
+                .setSubject(USERNAME)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date((new Date()).getTime() + EXPIRATION_MS))
+                .signWith(SignatureAlgorithm.HS512, SECRET)
+                .compact();
+    }
+
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public boolean legacyValidateToken() {
+        Jwts.parser().setSigningKey(SECRET).parseClaimsJws(token);
+        return true;
+    }
+}
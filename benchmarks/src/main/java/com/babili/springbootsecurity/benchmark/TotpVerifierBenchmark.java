@@ -0,0 +1,43 @@
+package com.babili.springbootsecurity.benchmark;
+
+import com.babili.springbootsecurity.util.TotpVerifier;
+import com.warrenstrange.googleauth.GoogleAuthenticator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares GoogleAuthenticator.authorize, which decodes the secret and creates a Mac per call
+ * ("legacy" methods), with TotpVerifier. A wrong code is used so both sides always check the
+ * whole window and the replay guard never short-circuits the measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TotpVerifierBenchmark {
+    private GoogleAuthenticator gAuth;
+    private TotpVerifier totpVerifier;
+    private String secret;
+    private int wrongCode;
+
+    @Setup
+    public void setUp() {
+        gAuth = new GoogleAuthenticator();
+        totpVerifier = new TotpVerifier(10_000, 100_000);
+        secret = gAuth.createCredentials().getKey();
+        wrongCode = (gAuth.getTotpPassword(secret) + 500_000) % 1_000_000;
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return totpVerifier.verify(secret, wrongCode);
+    }
+
+    @Benchmark
+    public boolean legacyAuthorize() {
+        return gAuth.authorize(secret, wrongCode);
+    }
+}
@@ -0,0 +1,59 @@
+package com.babili.springbootsecurity.benchmark;
+
+import com.babili.springbootsecurity.service.TwoFactorAuthService;
+import com.babili.springbootsecurity.util.QrCodeRenderer;
+import com.babili.springbootsecurity.util.TotpVerifier;
+import com.warrenstrange.googleauth.GoogleAuthenticator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The service-level 2FA paths: code parsing plus TotpVerifier, and QR code generation
+ * both from the renderer's cache and rendered from scratch (a renderer with no cache).
+ * The user lookups are not exercised, so the service is built without repositories.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TwoFactorAuthServiceBenchmark {
+    private TwoFactorAuthService twoFactorAuthService;
+    private TwoFactorAuthService uncachedTwoFactorAuthService;
+    private String secret;
+    private String wrongCode;
+    private String qrUrl;
+
+    @Setup
+    public void setUp() {
+        TotpVerifier totpVerifier = new TotpVerifier(10_000, 100_000);
+        twoFactorAuthService = new TwoFactorAuthService(null, null, totpVerifier, new QrCodeRenderer(1000),
+                new SimpleMeterRegistry());
+        uncachedTwoFactorAuthService = new TwoFactorAuthService(null, null, totpVerifier, new QrCodeRenderer(0),
+                new SimpleMeterRegistry());
+
+        GoogleAuthenticator gAuth = new GoogleAuthenticator();
+        secret = twoFactorAuthService.generateSecret();
+        // A wrong code keeps the whole window checked and the replay guard out of the way
+        wrongCode = String.format("%06d", (gAuth.getTotpPassword(secret) + 500_000) % 1_000_000);
+        qrUrl = twoFactorAuthService.generateQRUrl(secret, JwtUtilsBenchmark.USERNAME);
+    }
+
+    @Benchmark
+    public boolean verifyCode() {
+        return twoFactorAuthService.verifyCode(secret, wrongCode);
+    }
+
+    @Benchmark
+    public byte[] generateQRCodeCached() {
+        return twoFactorAuthService.generateQRCode(qrUrl);
+    }
+
+    @Benchmark
+    public byte[] generateQRCodeUncached() {
+        return uncachedTwoFactorAuthService.generateQRCode(qrUrl);
+    }
+}
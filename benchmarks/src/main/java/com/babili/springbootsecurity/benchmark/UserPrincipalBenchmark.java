@@ -0,0 +1,40 @@
+package com.babili.springbootsecurity.benchmark;
+
+import com.babili.springbootsecurity.entity.Role;
+import com.babili.springbootsecurity.entity.User;
+import com.babili.springbootsecurity.security.UserPrincipal;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UserPrincipal.create runs for every database-backed authentication, so its
+ * allocation rate (see -prof gc) matters as much as its throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserPrincipalBenchmark {
+    private User user;
+
+    @Setup
+    public void setUp() {
+        user = User.builder()
+                .id(1L)
+                .email(JwtUtilsBenchmark.USERNAME)
+                .password("{bcrypt}hash")
+                .firstName("Bench")
+                .lastName("Mark")
+                .emailVerified(true)
+                .role(Role.USER)
+                .build();
+    }
+
+    @Benchmark
+    public UserPrincipal create() {
+        return UserPrincipal.create(user);
+    }
+}
@@ -0,0 +1,18 @@
+package com.babili.springbootsecurity.reactive;
+
+import com.babili.springbootsecurity.util.QrCodeRenderer;
+import com.babili.springbootsecurity.util.TotpVerifier;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+
+// The shared components live outside this application's scanned package
+@SpringBootApplication
+@Import({TotpVerifier.class, QrCodeRenderer.class})
+public class SpringBootSecurityReactiveApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(SpringBootSecurityReactiveApplication.class, args);
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.babili.springbootsecurity.reactive.config;
+
+import com.babili.springbootsecurity.reactive.security.BearerTokenAuthenticationConverter;
+import com.babili.springbootsecurity.reactive.security.JwtAuthenticationManager;
+import com.babili.springbootsecurity.reactive.security.JwtAuthenticationWebFilter;
+import com.babili.springbootsecurity.reactive.security.ReactivePasswordHasher;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.annotation.method.configuration.EnableReactiveMethodSecurity;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Map;
+
+@Configuration
+@EnableWebFluxSecurity
+@EnableReactiveMethodSecurity
+public class SecurityConfig {
+    
+    @Bean
+    public PasswordEncoder passwordEncoder(@Value("${app.password-hashing.strength:10}") int strength) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        
+        // Same encoding as the servlet application, so both read and upgrade the same hashes
+        DelegatingPasswordEncoder delegatingEncoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        delegatingEncoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return delegatingEncoder;
+    }
+    
+    @Bean(destroyMethod = "dispose")
+    public Scheduler passwordHashingScheduler(
+            @Value("${app.password-hashing.pool-size:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int poolSize,
+            @Value("${app.password-hashing.queue-capacity:100}") int queueCapacity) {
+        return Schedulers.newBoundedElastic(poolSize, queueCapacity, "password-hashing");
+    }
+    
+    // TOTP checks and QR code renders are short, but they must not queue behind BCrypt work
+    @Bean(destroyMethod = "dispose")
+    public Scheduler totpScheduler(
+            @Value("${app.two-factor.pool-size:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int poolSize,
+            @Value("${app.two-factor.queue-capacity:1000}") int queueCapacity) {
+        return Schedulers.newBoundedElastic(poolSize, queueCapacity, "totp");
+    }
+    
+    @Bean
+    public ReactivePasswordHasher passwordHasher(PasswordEncoder passwordEncoder,
+                                                 @Qualifier("passwordHashingScheduler") Scheduler scheduler,
+                                                 @Value("${app.password-hashing.retry-after-seconds:1}") long retryAfterSeconds) {
+        return new ReactivePasswordHasher(passwordEncoder, scheduler, retryAfterSeconds);
+    }
+    
+    @Bean
+    public SecurityWebFilterChain filterChain(ServerHttpSecurity http, JwtAuthenticationManager authenticationManager) {
+        return http
+            .cors(cors -> cors.disable())
+            .csrf(csrf -> csrf.disable())
+            .httpBasic(httpBasic -> httpBasic.disable())
+            .formLogin(formLogin -> formLogin.disable())
+            .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+            .authorizeExchange(exchanges -> exchanges
+                .pathMatchers("/api/auth/**").permitAll()
+                .pathMatchers("/api/public/**").permitAll()
+                .anyExchange().authenticated()
+            )
+            .addFilterAt(new JwtAuthenticationWebFilter(new BearerTokenAuthenticationConverter(), authenticationManager),
+                    SecurityWebFiltersOrder.AUTHENTICATION)
+            .build();
+    }
+}
@@ -0,0 +1,51 @@
+package com.babili.springbootsecurity.reactive.controller;
+
+import com.babili.springbootsecurity.dto.AuthResponse;
+import com.babili.springbootsecurity.dto.LoginRequest;
+import com.babili.springbootsecurity.dto.MessageResponse;
+import com.babili.springbootsecurity.dto.RegisterRequest;
+import com.babili.springbootsecurity.reactive.service.AuthService;
+import com.babili.springbootsecurity.reactive.service.RegistrationService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/auth")
+@CrossOrigin(origins = "http://localhost:3000")
+public class AuthController {
+    
+    private final AuthService authService;
+    private final RegistrationService registrationService;
+    
+    public AuthController(AuthService authService, RegistrationService registrationService) {
+        this.authService = authService;
+        this.registrationService = registrationService;
+    }
+    
+    @PostMapping("/register")
+    public Mono<ResponseEntity<MessageResponse>> register(@Valid @RequestBody RegisterRequest request) {
+        return registrationService.registerUser(request)
+                .then(Mono.fromSupplier(() -> ResponseEntity.ok(new MessageResponse("User registered successfully! Please check your email to verify your account."))));
+    }
+    
+    @PostMapping("/login")
+    public Mono<ResponseEntity<AuthResponse>> login(@Valid @RequestBody LoginRequest request) {
+        return authService.login(request).map(ResponseEntity::ok);
+    }
+    
+    @PostMapping("/verify-email")
+    public Mono<ResponseEntity<MessageResponse>> verifyEmail(@RequestParam String token) {
+        return authService.verifyEmail(token)
+                .map(verified -> verified
+                        ? ResponseEntity.ok(new MessageResponse("Email verified successfully!"))
+                        : ResponseEntity.badRequest().body(new MessageResponse("Invalid or expired token")));
+    }
+    
+    @PostMapping("/resend-verification")
+    public Mono<ResponseEntity<MessageResponse>> resendVerification(@RequestParam String email) {
+        return authService.resendVerificationEmail(email)
+                .then(Mono.fromSupplier(() -> ResponseEntity.ok(new MessageResponse("Verification email sent"))));
+    }
+}
@@ -0,0 +1,70 @@
+package com.babili.springbootsecurity.reactive.controller;
+
+import com.babili.springbootsecurity.dto.MessageResponse;
+import com.babili.springbootsecurity.dto.TwoFactorSetupResponse;
+import com.babili.springbootsecurity.dto.TwoFactorVerificationRequest;
+import com.babili.springbootsecurity.reactive.service.TwoFactorAuthService;
+import com.babili.springbootsecurity.security.UserPrincipal;
+import com.babili.springbootsecurity.util.QrCodeRenderer;
+import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/auth/2fa")
+@CrossOrigin(origins = "http://localhost:3000")
+public class TwoFactorAuthController {
+    
+    private final TwoFactorAuthService twoFactorAuthService;
+    
+    public TwoFactorAuthController(TwoFactorAuthService twoFactorAuthService) {
+        this.twoFactorAuthService = twoFactorAuthService;
+    }
+    
+    @PostMapping("/setup")
+    @PreAuthorize("hasRole('USER')")
+    public Mono<ResponseEntity<TwoFactorSetupResponse>> setupTwoFactor(@AuthenticationPrincipal UserPrincipal userPrincipal) {
+        return twoFactorAuthService.setupTwoFactor(userPrincipal.getEmail())
+                .map(ResponseEntity::ok);
+    }
+    
+    @PostMapping("/verify-setup")
+    @PreAuthorize("hasRole('USER')")
+    public Mono<ResponseEntity<MessageResponse>> verifyTwoFactorSetup(@Valid @RequestBody TwoFactorVerificationRequest request,
+                                                                      @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        return twoFactorAuthService.verifyTwoFactorSetup(userPrincipal.getEmail(), request.getCode())
+                .then(Mono.fromSupplier(() -> ResponseEntity.ok(new MessageResponse("Two-factor authentication enabled successfully"))));
+    }
+    
+    @PostMapping("/disable")
+    @PreAuthorize("hasRole('USER')")
+    public Mono<ResponseEntity<MessageResponse>> disableTwoFactor(@Valid @RequestBody TwoFactorVerificationRequest request,
+                                                                  @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        return twoFactorAuthService.disableTwoFactor(userPrincipal.getEmail(), request.getCode())
+                .then(Mono.fromSupplier(() -> ResponseEntity.ok(new MessageResponse("Two-factor authentication disabled successfully"))));
+    }
+    
+    @GetMapping("/qr-code")
+    @PreAuthorize("hasRole('USER')")
+    public Mono<ResponseEntity<byte[]>> getQRCode(@RequestParam(defaultValue = "png") String format,
+                                                  @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        QrCodeRenderer.Format imageFormat;
+        try {
+            imageFormat = QrCodeRenderer.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        
+        return twoFactorAuthService.getQRCodeForUser(userPrincipal.getEmail(), imageFormat)
+                // WebFlux answers 304 itself when If-None-Match matches the ETag
+                .map(qrCode -> ResponseEntity.ok()
+                        .contentType(qrCode.format().getMediaType())
+                        .eTag(qrCode.etag())
+                        .cacheControl(CacheControl.noCache().cachePrivate())
+                        .body(qrCode.content()));
+    }
+}
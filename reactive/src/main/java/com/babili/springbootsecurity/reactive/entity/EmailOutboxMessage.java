@@ -0,0 +1,44 @@
+package com.babili.springbootsecurity.reactive.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+// Rows are delivered by the servlet application's EmailOutboxDispatcher
+@Table("email_outbox")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmailOutboxMessage {
+    @Id
+    private Long id;
+    
+    private String recipient;
+    
+    private String subject;
+    
+    private String body;
+    
+    private EmailOutboxStatus status;
+    
+    private int attempts;
+    
+    @Column("next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+    
+    @Column("last_error")
+    private String lastError;
+    
+    @Column("created_at")
+    private LocalDateTime createdAt;
+    
+    @Column("sent_at")
+    private LocalDateTime sentAt;
+}
@@ -0,0 +1,9 @@
+package com.babili.springbootsecurity.reactive.entity;
+
+public enum EmailOutboxStatus {
+    PENDING,
+    // Claimed by a dispatcher; next_attempt_at holds the lease expiry
+    SENDING,
+    SENT,
+    DEAD
+}
@@ -0,0 +1,32 @@
+package com.babili.springbootsecurity.reactive.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+@Table("email_verification_tokens")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmailVerificationToken {
+    @Id
+    private Long id;
+    
+    private String token;
+    
+    @Column("user_id")
+    private Long userId;
+    
+    @Column("expires_at")
+    private LocalDateTime expiresAt;
+    
+    @Column("created_at")
+    private LocalDateTime createdAt;
+}
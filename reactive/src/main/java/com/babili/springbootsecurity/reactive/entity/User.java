@@ -0,0 +1,55 @@
+package com.babili.springbootsecurity.reactive.entity;
+
+import com.babili.springbootsecurity.entity.Role;
+import com.babili.springbootsecurity.security.UserAccount;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+// Maps the table owned by the servlet application's JPA entity
+@Table("users")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class User implements UserAccount {
+    @Id
+    private Long id;
+    
+    private String email;
+    
+    private String password;
+    
+    @Column("first_name")
+    private String firstName;
+    
+    @Column("last_name")
+    private String lastName;
+    
+    @Column("email_verified")
+    private boolean emailVerified;
+    
+    @Column("two_factor_enabled")
+    private boolean twoFactorEnabled;
+    
+    @Column("two_factor_secret")
+    private String twoFactorSecret;
+    
+    @Column("verification_nonce")
+    private Long verificationNonce;
+    
+    @Builder.Default
+    private Role role = Role.USER;
+    
+    @Column("created_at")
+    private LocalDateTime createdAt;
+    
+    @Column("updated_at")
+    private LocalDateTime updatedAt;
+}
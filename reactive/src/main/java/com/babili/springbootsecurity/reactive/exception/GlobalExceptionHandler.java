@@ -0,0 +1,46 @@
+package com.babili.springbootsecurity.reactive.exception;
+
+import com.babili.springbootsecurity.dto.MessageResponse;
+import com.babili.springbootsecurity.exception.AuthFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@ControllerAdvice
+public class GlobalExceptionHandler {
+    
+    @ExceptionHandler(UserAlreadyExistsException.class)
+    public ResponseEntity<?> handleUserAlreadyExists(UserAlreadyExistsException ex) {
+        return ResponseEntity.badRequest().body(new MessageResponse(ex.getMessage()));
+    }
+    
+    @ExceptionHandler(AuthFailureException.class)
+    public ResponseEntity<?> handleAuthFailure(AuthFailureException ex) {
+        return ResponseEntity.status(ex.getReason().getStatus()).body(new MessageResponse(ex.getMessage()));
+    }
+    
+    @ExceptionHandler(PasswordHashingUnavailableException.class)
+    public ResponseEntity<?> handlePasswordHashingUnavailable(PasswordHashingUnavailableException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(new MessageResponse(ex.getMessage()));
+    }
+    
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<?> handleValidationExceptions(WebExchangeBindException ex) {
+        Map<String, String> errors = new HashMap<>();
+        ex.getBindingResult().getAllErrors().forEach((error) -> {
+            String fieldName = ((FieldError) error).getField();
+            String errorMessage = error.getDefaultMessage();
+            errors.put(fieldName, errorMessage);
+        });
+        return ResponseEntity.badRequest().body(errors);
+    }
+}
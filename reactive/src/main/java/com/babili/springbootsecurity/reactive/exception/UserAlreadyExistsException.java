@@ -0,0 +1,7 @@
+package com.babili.springbootsecurity.reactive.exception;
+
+public class UserAlreadyExistsException extends RuntimeException {
+    public UserAlreadyExistsException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
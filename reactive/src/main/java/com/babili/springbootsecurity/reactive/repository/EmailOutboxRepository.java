@@ -0,0 +1,9 @@
+package com.babili.springbootsecurity.reactive.repository;
+
+import com.babili.springbootsecurity.reactive.entity.EmailOutboxMessage;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface EmailOutboxRepository extends ReactiveCrudRepository<EmailOutboxMessage, Long> {
+}
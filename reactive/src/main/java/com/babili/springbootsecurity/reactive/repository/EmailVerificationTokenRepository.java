@@ -0,0 +1,25 @@
+package com.babili.springbootsecurity.reactive.repository;
+
+import com.babili.springbootsecurity.reactive.entity.EmailVerificationToken;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface EmailVerificationTokenRepository extends ReactiveCrudRepository<EmailVerificationToken, Long> {
+    Mono<EmailVerificationToken> findByToken(String token);
+    
+    @Modifying
+    @Query("delete from email_verification_tokens where token = :token")
+    Mono<Integer> deleteByToken(String token);
+    
+    // Rotates a user's pending token in place (user_id is unique)
+    @Modifying
+    @Query("update email_verification_tokens set token = :token, expires_at = :expiresAt, created_at = :createdAt " +
+           "where user_id = :userId")
+    Mono<Integer> replaceToken(Long userId, String token, LocalDateTime expiresAt, LocalDateTime createdAt);
+}
@@ -0,0 +1,34 @@
+package com.babili.springbootsecurity.reactive.repository;
+
+import com.babili.springbootsecurity.reactive.entity.User;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface UserRepository extends ReactiveCrudRepository<User, Long> {
+    // Emails match case-insensitively, as in the servlet application; lower(email) is indexed
+    @Query("select * from users where lower(email) = lower(:email)")
+    Mono<User> findByEmail(String email);
+    
+    @Query("select count(*) > 0 from users where lower(email) = lower(:email)")
+    Mono<Boolean> existsByEmail(String email);
+    
+    @Modifying
+    @Query("update users set password = :password where id = :id")
+    Mono<Integer> updatePassword(Long id, String password);
+    
+    @Modifying
+    @Query("update users set email_verified = true, updated_at = :now " +
+           "where id = (select t.user_id from email_verification_tokens t where t.token = :token and t.expires_at > :now)")
+    Mono<Integer> markEmailVerifiedByToken(String token, LocalDateTime now);
+    
+    @Modifying
+    @Query("update users set two_factor_secret = :secret, two_factor_enabled = :enabled, updated_at = :now " +
+           "where id = :id")
+    Mono<Integer> updateTwoFactor(Long id, String secret, boolean enabled, LocalDateTime now);
+}
@@ -0,0 +1,23 @@
+package com.babili.springbootsecurity.reactive.security;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.server.authentication.ServerAuthenticationConverter;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+public class BearerTokenAuthenticationConverter implements ServerAuthenticationConverter {
+    private static final String BEARER_PREFIX = "Bearer ";
+    
+    @Override
+    public Mono<Authentication> convert(ServerWebExchange exchange) {
+        String headerAuth = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (StringUtils.hasText(headerAuth) && headerAuth.startsWith(BEARER_PREFIX)) {
+            String token = headerAuth.substring(BEARER_PREFIX.length());
+            return Mono.just(UsernamePasswordAuthenticationToken.unauthenticated(token, token));
+        }
+        return Mono.empty();
+    }
+}
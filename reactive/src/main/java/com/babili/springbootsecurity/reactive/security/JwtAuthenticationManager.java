@@ -0,0 +1,37 @@
+package com.babili.springbootsecurity.reactive.security;
+
+import com.babili.springbootsecurity.reactive.util.JwtUtils;
+import io.jsonwebtoken.Claims;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+// An invalid token or unknown user completes empty rather than failing;
+// JwtAuthenticationWebFilter then lets the request continue unauthenticated
+@Component
+public class JwtAuthenticationManager implements ReactiveAuthenticationManager {
+    
+    private final JwtUtils jwtUtils;
+    private final ReactiveUserDetailsService userDetailsService;
+    
+    public JwtAuthenticationManager(JwtUtils jwtUtils, ReactiveUserDetailsService userDetailsService) {
+        this.jwtUtils = jwtUtils;
+        this.userDetailsService = userDetailsService;
+    }
+    
+    @Override
+    public Mono<Authentication> authenticate(Authentication authentication) {
+        Claims claims = jwtUtils.getClaimsFromJwtToken((String) authentication.getCredentials());
+        if (claims == null) {
+            return Mono.empty();
+        }
+        return userDetailsService.findByUsername(claims.getSubject())
+                .<Authentication>map(userDetails -> new UsernamePasswordAuthenticationToken(
+                        userDetails, null, userDetails.getAuthorities()))
+                .onErrorResume(UsernameNotFoundException.class, e -> Mono.empty());
+    }
+}
@@ -0,0 +1,33 @@
+package com.babili.springbootsecurity.reactive.security;
+
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.web.server.authentication.ServerAuthenticationConverter;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+// Used instead of AuthenticationWebFilter, which turns an empty authentication result into an
+// IllegalStateException (a 500). A missing, invalid or expired token, or an unknown user, leaves
+// the request unauthenticated, as AuthTokenFilter does in the servlet application
+public class JwtAuthenticationWebFilter implements WebFilter {
+    
+    private final ServerAuthenticationConverter authenticationConverter;
+    private final JwtAuthenticationManager authenticationManager;
+    
+    public JwtAuthenticationWebFilter(ServerAuthenticationConverter authenticationConverter,
+                                      JwtAuthenticationManager authenticationManager) {
+        this.authenticationConverter = authenticationConverter;
+        this.authenticationManager = authenticationManager;
+    }
+    
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        return authenticationConverter.convert(exchange)
+                .flatMap(authenticationManager::authenticate)
+                .map(ReactiveSecurityContextHolder::withAuthentication)
+                .defaultIfEmpty(Context.empty())
+                .flatMap(context -> chain.filter(exchange).contextWrite(context));
+    }
+}
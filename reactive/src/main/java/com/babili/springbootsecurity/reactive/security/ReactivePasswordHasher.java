@@ -0,0 +1,40 @@
+package com.babili.springbootsecurity.reactive.security;
+
+import com.babili.springbootsecurity.reactive.exception.PasswordHashingUnavailableException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.concurrent.RejectedExecutionException;
+
+// BCrypt would stall an event-loop thread for the whole hash, so it runs on a bounded
+// scheduler; once that scheduler's queue is full callers fail fast instead of waiting
+public class ReactivePasswordHasher {
+    private final PasswordEncoder delegate;
+    private final Scheduler scheduler;
+    private final long retryAfterSeconds;
+
+    public ReactivePasswordHasher(PasswordEncoder delegate, Scheduler scheduler, long retryAfterSeconds) {
+        this.delegate = delegate;
+        this.scheduler = scheduler;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public Mono<String> encode(CharSequence rawPassword) {
+        return offload(Mono.fromCallable(() -> delegate.encode(rawPassword)));
+    }
+
+    public Mono<Boolean> matches(CharSequence rawPassword, String encodedPassword) {
+        return offload(Mono.fromCallable(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> Mono<T> offload(Mono<T> task) {
+        return task.subscribeOn(scheduler)
+                .onErrorMap(RejectedExecutionException.class,
+                        e -> new PasswordHashingUnavailableException(retryAfterSeconds));
+    }
+}
@@ -0,0 +1,26 @@
+package com.babili.springbootsecurity.reactive.security;
+
+import com.babili.springbootsecurity.reactive.repository.UserRepository;
+import com.babili.springbootsecurity.security.UserPrincipal;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+@Service
+public class UserDetailsServiceImpl implements ReactiveUserDetailsService {
+    
+    private final UserRepository userRepository;
+    
+    public UserDetailsServiceImpl(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+    
+    @Override
+    public Mono<UserDetails> findByUsername(String email) {
+        return userRepository.findByEmail(email)
+                .switchIfEmpty(Mono.error(() -> new UsernameNotFoundException("User Not Found with email: " + email)))
+                .map(UserPrincipal::create);
+    }
+}
@@ -0,0 +1,96 @@
+package com.babili.springbootsecurity.reactive.service;
+
+import com.babili.springbootsecurity.dto.AuthResponse;
+import com.babili.springbootsecurity.dto.LoginRequest;
+import com.babili.springbootsecurity.exception.AuthFailureException;
+import com.babili.springbootsecurity.reactive.entity.User;
+import com.babili.springbootsecurity.reactive.repository.UserRepository;
+import com.babili.springbootsecurity.reactive.security.ReactivePasswordHasher;
+import com.babili.springbootsecurity.reactive.util.JwtUtils;
+import com.babili.springbootsecurity.security.UserPrincipal;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+@Service
+public class AuthService {
+    
+    private final ReactivePasswordHasher passwordHasher;
+    private final UserRepository userRepository;
+    private final TwoFactorAuthService twoFactorAuthService;
+    private final JwtUtils jwtUtils;
+    private final EmailVerificationService emailVerificationService;
+    
+    public AuthService(ReactivePasswordHasher passwordHasher,
+                       UserRepository userRepository,
+                       TwoFactorAuthService twoFactorAuthService,
+                       JwtUtils jwtUtils,
+                       EmailVerificationService emailVerificationService) {
+        this.passwordHasher = passwordHasher;
+        this.userRepository = userRepository;
+        this.twoFactorAuthService = twoFactorAuthService;
+        this.jwtUtils = jwtUtils;
+        this.emailVerificationService = emailVerificationService;
+    }
+    
+    public Mono<AuthResponse> login(LoginRequest request) {
+        return userRepository.findByEmail(request.getEmail())
+                .switchIfEmpty(Mono.error(() -> AuthFailureException.of(AuthFailureException.Reason.USER_NOT_FOUND)))
+                .flatMap(user -> {
+                    if (!user.isEmailVerified()) {
+                        return Mono.error(AuthFailureException.of(AuthFailureException.Reason.EMAIL_NOT_VERIFIED));
+                    }
+                    return passwordHasher.matches(request.getPassword(), user.getPassword())
+                            .flatMap(matches -> matches
+                                    ? upgradePasswordHash(user, request.getPassword())
+                                    : Mono.error(AuthFailureException.of(AuthFailureException.Reason.BAD_CREDENTIALS)))
+                            .then(checkTwoFactor(user, request.getTwoFactorCode()))
+                            .then(Mono.fromSupplier(() -> toAuthResponse(user)));
+                });
+    }
+    
+    // Rehash with the current encoder settings while the raw password is at hand
+    private Mono<Void> upgradePasswordHash(User user, String rawPassword) {
+        if (!passwordHasher.upgradeEncoding(user.getPassword())) {
+            return Mono.empty();
+        }
+        return passwordHasher.encode(rawPassword)
+                .flatMap(passwordHash -> userRepository.updatePassword(user.getId(), passwordHash))
+                .then();
+    }
+    
+    private Mono<Void> checkTwoFactor(User user, String code) {
+        if (!user.isTwoFactorEnabled()) {
+            return Mono.empty();
+        }
+        if (code == null || code.isEmpty()) {
+            return Mono.error(AuthFailureException.of(AuthFailureException.Reason.TWO_FACTOR_REQUIRED));
+        }
+        return twoFactorAuthService.verifyCode(user.getTwoFactorSecret(), code)
+                .flatMap(valid -> valid
+                        ? Mono.<Void>empty()
+                        : Mono.error(AuthFailureException.of(AuthFailureException.Reason.INVALID_TWO_FACTOR_CODE)));
+    }
+    
+    private AuthResponse toAuthResponse(User user) {
+        return AuthResponse.builder()
+                .token(jwtUtils.generateJwtToken(UserPrincipal.create(user)))
+                .email(user.getEmail())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .emailVerified(user.isEmailVerified())
+                .twoFactorEnabled(user.isTwoFactorEnabled())
+                .build();
+    }
+    
+    public Mono<Boolean> verifyEmail(String token) {
+        return emailVerificationService.verifyToken(token);
+    }
+    
+    public Mono<Void> resendVerificationEmail(String email) {
+        return userRepository.findByEmail(email)
+                .switchIfEmpty(Mono.error(() -> AuthFailureException.of(AuthFailureException.Reason.USER_NOT_FOUND)))
+                .flatMap(user -> user.isEmailVerified()
+                        ? Mono.error(AuthFailureException.of(AuthFailureException.Reason.EMAIL_ALREADY_VERIFIED))
+                        : emailVerificationService.createVerificationToken(user));
+    }
+}
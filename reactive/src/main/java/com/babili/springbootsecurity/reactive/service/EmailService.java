@@ -0,0 +1,49 @@
+package com.babili.springbootsecurity.reactive.service;
+
+import com.babili.springbootsecurity.reactive.entity.EmailOutboxMessage;
+import com.babili.springbootsecurity.reactive.entity.EmailOutboxStatus;
+import com.babili.springbootsecurity.reactive.entity.User;
+import com.babili.springbootsecurity.reactive.repository.EmailOutboxRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+@Service
+public class EmailService {
+    private final EmailOutboxRepository outboxRepository;
+    
+    @Value("${app.name}")
+    private String appName;
+    
+    @Value("${server.port:8081}")
+    private String serverPort;
+
+    public EmailService(EmailOutboxRepository outboxRepository) {
+        this.outboxRepository = outboxRepository;
+    }
+    
+    // Only writes the outbox row; there is no SMTP client on the event loop, the servlet
+    // application's EmailOutboxDispatcher delivers it from the shared database
+    public Mono<Void> queueVerificationEmail(User user, String token) {
+        String verificationUrl = "http://localhost:" + serverPort + "/api/auth/verify-email?token=" + token;
+        LocalDateTime now = LocalDateTime.now();
+
+        EmailOutboxMessage message = EmailOutboxMessage.builder()
+                .recipient(user.getEmail())
+                .subject("Email Verification - " + appName)
+                .body("Dear " + user.getFirstName() + ",\n\n" +
+                        "Please click the following link to verify your email address:\n" +
+                        verificationUrl + "\n\n" +
+                        "This link will expire in 24 hours.\n\n" +
+                        "Best regards,\n" +
+                        appName + " Team")
+                .status(EmailOutboxStatus.PENDING)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
+        
+        return outboxRepository.save(message).then();
+    }
+}
@@ -0,0 +1,58 @@
+package com.babili.springbootsecurity.reactive.service;
+
+import com.babili.springbootsecurity.reactive.entity.EmailVerificationToken;
+import com.babili.springbootsecurity.reactive.entity.User;
+import com.babili.springbootsecurity.reactive.repository.EmailVerificationTokenRepository;
+import com.babili.springbootsecurity.reactive.repository.UserRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Stored (table mode) tokens only; signed links are verified by the servlet application
+@Service
+@Transactional
+public class EmailVerificationService {
+    private static final Duration TOKEN_VALIDITY = Duration.ofHours(24);
+    
+    private final EmailVerificationTokenRepository tokenRepository;
+    private final UserRepository userRepository;
+    private final EmailService emailService;
+    
+    public EmailVerificationService(EmailVerificationTokenRepository tokenRepository,
+                                    UserRepository userRepository,
+                                    EmailService emailService) {
+        this.tokenRepository = tokenRepository;
+        this.userRepository = userRepository;
+        this.emailService = emailService;
+    }
+    
+    public Mono<Void> createVerificationToken(User user) {
+        String token = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(TOKEN_VALIDITY);
+        
+        // Replace the pending token if there is one; only users without one need an insert
+        return tokenRepository.replaceToken(user.getId(), token, expiresAt, now)
+                .flatMap(updated -> updated == 0
+                        ? tokenRepository.save(EmailVerificationToken.builder()
+                                .token(token)
+                                .userId(user.getId())
+                                .expiresAt(expiresAt)
+                                .createdAt(now)
+                                .build()).then()
+                        : Mono.<Void>empty())
+                .then(emailService.queueVerificationEmail(user, token));
+    }
+    
+    // The update locks the user row, so of two concurrent clicks on the same link
+    // only the first one still finds the token to delete
+    public Mono<Boolean> verifyToken(String token) {
+        return userRepository.markEmailVerifiedByToken(token, LocalDateTime.now())
+                .flatMap(verified -> tokenRepository.deleteByToken(token)
+                        .map(consumed -> verified == 1 && consumed == 1));
+    }
+}
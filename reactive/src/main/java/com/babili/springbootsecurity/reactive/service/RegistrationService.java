@@ -0,0 +1,55 @@
+package com.babili.springbootsecurity.reactive.service;
+
+import com.babili.springbootsecurity.dto.RegisterRequest;
+import com.babili.springbootsecurity.entity.Role;
+import com.babili.springbootsecurity.reactive.entity.User;
+import com.babili.springbootsecurity.reactive.exception.UserAlreadyExistsException;
+import com.babili.springbootsecurity.reactive.repository.UserRepository;
+import com.babili.springbootsecurity.reactive.security.ReactivePasswordHasher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+@Service
+public class RegistrationService {
+    
+    private final UserRepository userRepository;
+    private final ReactivePasswordHasher passwordHasher;
+    private final EmailVerificationService emailVerificationService;
+    private final TransactionalOperator transactionalOperator;
+    
+    public RegistrationService(UserRepository userRepository,
+                               ReactivePasswordHasher passwordHasher,
+                               EmailVerificationService emailVerificationService,
+                               TransactionalOperator transactionalOperator) {
+        this.userRepository = userRepository;
+        this.passwordHasher = passwordHasher;
+        this.emailVerificationService = emailVerificationService;
+        this.transactionalOperator = transactionalOperator;
+    }
+    
+    // The password is hashed before the transaction starts so no connection is held during BCrypt
+    public Mono<Void> registerUser(RegisterRequest request) {
+        return userRepository.existsByEmail(request.getEmail())
+                .flatMap(exists -> exists
+                        ? Mono.<String>error(new UserAlreadyExistsException("Email already exists"))
+                        : passwordHasher.encode(request.getPassword()))
+                .flatMap(passwordHash -> {
+                    LocalDateTime now = LocalDateTime.now();
+                    User user = User.builder()
+                            .email(request.getEmail())
+                            .password(passwordHash)
+                            .firstName(request.getFirstName())
+                            .lastName(request.getLastName())
+                            .role(Role.USER)
+                            .createdAt(now)
+                            .updatedAt(now)
+                            .build();
+                    return userRepository.save(user)
+                            .flatMap(emailVerificationService::createVerificationToken)
+                            .as(transactionalOperator::transactional);
+                });
+    }
+}
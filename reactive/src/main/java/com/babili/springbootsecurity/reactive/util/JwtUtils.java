@@ -0,0 +1,61 @@
+package com.babili.springbootsecurity.reactive.util;
+
+import com.babili.springbootsecurity.util.JwtValidationResult;
+import com.babili.springbootsecurity.util.JwtVerifier;
+import com.babili.springbootsecurity.util.RateLimitedLogger;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.time.Duration;
+import java.util.Date;
+
+// Same key and token format as the servlet application, so a token issued by either is accepted by both
+@Component
+public class JwtUtils {
+    private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
+    private static final RateLimitedLogger rejectionLog = new RateLimitedLogger(logger, Duration.ofSeconds(10));
+    
+    @Value("${jwt.secret}")
+    private String jwtSecret;
+    
+    @Value("${jwt.expiration}")
+    private int jwtExpirationMs;
+    
+    private SecretKey signingKey;
+    private JwtVerifier jwtVerifier;
+    
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        jwtVerifier = new JwtVerifier(signingKey);
+    }
+    
+    public String generateJwtToken(UserDetails userPrincipal) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setSubject(userPrincipal.getUsername())
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + jwtExpirationMs))
+                .signWith(signingKey, SignatureAlgorithm.HS512)
+                .compact();
+    }
+    
+    // Null for a rejected token; rejections are typed by JwtVerifier rather than thrown
+    public Claims getClaimsFromJwtToken(String authToken) {
+        JwtValidationResult result = jwtVerifier.verify(authToken);
+        if (!result.isValid()) {
+            rejectionLog.warn(result.status().name(), "Rejected JWT: {}", result.status().reason());
+        }
+        return result.claims();
+    }
+}
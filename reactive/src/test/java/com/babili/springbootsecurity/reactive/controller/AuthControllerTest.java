@@ -0,0 +1,271 @@
+package com.babili.springbootsecurity.reactive.controller;
+
+import com.babili.springbootsecurity.dto.AuthResponse;
+import com.babili.springbootsecurity.dto.LoginRequest;
+import com.babili.springbootsecurity.dto.RegisterRequest;
+import com.babili.springbootsecurity.reactive.entity.EmailOutboxStatus;
+import com.babili.springbootsecurity.reactive.entity.EmailVerificationToken;
+import com.babili.springbootsecurity.reactive.entity.User;
+import com.babili.springbootsecurity.reactive.repository.EmailOutboxRepository;
+import com.babili.springbootsecurity.reactive.repository.EmailVerificationTokenRepository;
+import com.babili.springbootsecurity.reactive.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@AutoConfigureWebTestClient
+@TestPropertySource(properties = {
+    "spring.r2dbc.url=r2dbc:h2:mem:///reactive_testdb;DB_CLOSE_DELAY=-1",
+    "spring.r2dbc.username=sa",
+    "spring.r2dbc.password=",
+    "spring.sql.init.mode=always",
+    "app.password-hashing.strength=4"
+})
+public class AuthControllerTest {
+    
+    @Autowired
+    private WebTestClient webTestClient;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private EmailVerificationTokenRepository tokenRepository;
+    
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+    
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    
+    @BeforeEach
+    public void cleanUp() {
+        outboxRepository.deleteAll()
+                .then(tokenRepository.deleteAll())
+                .then(userRepository.deleteAll())
+                .block();
+    }
+    
+    @Test
+    public void testRegistrationQueuesVerificationEmail() {
+        RegisterRequest request = new RegisterRequest();
+        request.setEmail("test@example.com");
+        request.setPassword("password123");
+        request.setFirstName("Test");
+        request.setLastName("User");
+        
+        webTestClient.post().uri("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.message")
+                .isEqualTo("User registered successfully! Please check your email to verify your account.");
+        
+        User user = userRepository.findByEmail("test@example.com").block();
+        assertThat(user).isNotNull();
+        assertThat(passwordEncoder.matches("password123", user.getPassword())).isTrue();
+        assertThat(outboxRepository.findAll().collectList().block())
+                .singleElement()
+                .satisfies(message -> {
+                    assertThat(message.getRecipient()).isEqualTo("test@example.com");
+                    assertThat(message.getStatus()).isEqualTo(EmailOutboxStatus.PENDING);
+                });
+        
+        webTestClient.post().uri("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("Email already exists");
+    }
+    
+    @Test
+    public void testEmailsMatchIgnoringCase() {
+        saveUser("Mixed.Case@example.com", true);
+        
+        login("mixed.case@EXAMPLE.com", "password123")
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.email").isEqualTo("Mixed.Case@example.com");
+        
+        RegisterRequest request = new RegisterRequest();
+        request.setEmail("MIXED.CASE@example.com");
+        request.setPassword("password123");
+        request.setFirstName("Test");
+        request.setLastName("User");
+        webTestClient.post().uri("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("Email already exists");
+    }
+    
+    @Test
+    public void testVerifyEmailThenLogin() {
+        User user = saveUser("verify@example.com", false);
+        tokenRepository.save(EmailVerificationToken.builder()
+                .token("verify-token")
+                .userId(user.getId())
+                .expiresAt(LocalDateTime.now().plusHours(1))
+                .createdAt(LocalDateTime.now())
+                .build()).block();
+        
+        login("verify@example.com", "password123")
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("Please verify your email first");
+        
+        webTestClient.post().uri("/api/auth/verify-email?token=verify-token")
+                .exchange()
+                .expectStatus().isOk();
+        webTestClient.post().uri("/api/auth/verify-email?token=verify-token")
+                .exchange()
+                .expectStatus().isBadRequest();
+        
+        AuthResponse response = login("verify@example.com", "password123")
+                .expectStatus().isOk()
+                .expectBody(AuthResponse.class)
+                .returnResult().getResponseBody();
+        assertThat(response).isNotNull();
+        assertThat(response.getToken()).isNotBlank();
+        assertThat(response.isEmailVerified()).isTrue();
+    }
+    
+    @Test
+    public void testLoginWithWrongPassword() {
+        saveUser("wrong@example.com", true);
+        
+        login("wrong@example.com", "not-the-password")
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("Bad credentials");
+    }
+    
+    @Test
+    public void testAuthFailuresMapToStatusAndMessage() {
+        userRepository.save(User.builder()
+                .email("twofa-required@example.com")
+                .password(passwordEncoder.encode("password123"))
+                .emailVerified(true)
+                .twoFactorEnabled(true)
+                .twoFactorSecret("JBSWY3DPEHPK3PXP")
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build()).block();
+        
+        login("twofa-required@example.com", "password123")
+                .expectStatus().isEqualTo(HttpStatus.PARTIAL_CONTENT)
+                .expectBody().jsonPath("$.message").isEqualTo("Two-factor authentication required");
+        login("missing@example.com", "password123")
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("User not found");
+        
+        saveUser("no-setup@example.com", true);
+        String token = login("no-setup@example.com", "password123")
+                .expectStatus().isOk()
+                .expectBody(AuthResponse.class)
+                .returnResult().getResponseBody().getToken();
+        webTestClient.get().uri("/api/auth/2fa/qr-code")
+                .headers(headers -> headers.setBearerAuth(token))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("Two-factor setup not initiated");
+        webTestClient.get().uri("/api/auth/2fa/qr-code?format=gif")
+                .headers(headers -> headers.setBearerAuth(token))
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+    
+    @Test
+    public void testInvalidBearerTokenContinuesAnonymously() {
+        saveUser("garbage@example.com", true);
+        LoginRequest request = new LoginRequest();
+        request.setEmail("garbage@example.com");
+        request.setPassword("password123");
+        
+        webTestClient.post().uri("/api/auth/login")
+                .headers(headers -> headers.setBearerAuth("x"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.token").isNotEmpty();
+        
+        webTestClient.get().uri("/api/auth/2fa/qr-code")
+                .headers(headers -> headers.setBearerAuth("x"))
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+    
+    @Test
+    public void testTwoFactorEndpointsRequireToken() {
+        webTestClient.get().uri("/api/auth/2fa/qr-code")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+    
+    @Test
+    public void testTwoFactorSetupAndCachedQrCode() {
+        saveUser("twofa@example.com", true);
+        String token = login("twofa@example.com", "password123")
+                .expectStatus().isOk()
+                .expectBody(AuthResponse.class)
+                .returnResult().getResponseBody().getToken();
+        
+        webTestClient.post().uri("/api/auth/2fa/setup")
+                .headers(headers -> headers.setBearerAuth(token))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.secret").isNotEmpty();
+        
+        String etag = webTestClient.get().uri("/api/auth/2fa/qr-code")
+                .headers(headers -> headers.setBearerAuth(token))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.IMAGE_PNG)
+                .returnResult(byte[].class)
+                .getResponseHeaders().getETag();
+        assertThat(etag).isNotNull();
+        
+        webTestClient.get().uri("/api/auth/2fa/qr-code")
+                .headers(headers -> {
+                    headers.setBearerAuth(token);
+                    headers.setIfNoneMatch(etag);
+                })
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+    
+    private WebTestClient.ResponseSpec login(String email, String password) {
+        LoginRequest request = new LoginRequest();
+        request.setEmail(email);
+        request.setPassword(password);
+        return webTestClient.post().uri("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange();
+    }
+    
+    private User saveUser(String email, boolean emailVerified) {
+        return userRepository.save(User.builder()
+                .email(email)
+                .password(passwordEncoder.encode("password123"))
+                .firstName("Test")
+                .lastName("User")
+                .emailVerified(emailVerified)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build()).block();
+    }
+}
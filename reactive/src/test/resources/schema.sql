@@ -0,0 +1,36 @@
+-- Mirrors the tables Hibernate creates for the servlet application
+create table if not exists users (
+    id bigint generated by default as identity primary key,
+    email varchar(255) not null unique,
+    password varchar(255) not null,
+    first_name varchar(255),
+    last_name varchar(255),
+    email_verified boolean not null default false,
+    two_factor_enabled boolean not null default false,
+    two_factor_secret varchar(255),
+    verification_nonce bigint,
+    role varchar(255),
+    created_at timestamp,
+    updated_at timestamp
+);
+
+create table if not exists email_verification_tokens (
+    id bigint generated by default as identity primary key,
+    token varchar(255) not null unique,
+    user_id bigint not null unique references users (id),
+    expires_at timestamp not null,
+    created_at timestamp
+);
+
+create table if not exists email_outbox (
+    id bigint generated by default as identity primary key,
+    recipient varchar(255) not null,
+    subject varchar(255) not null,
+    body varchar(4000) not null,
+    status varchar(255) not null,
+    attempts integer not null default 0,
+    next_attempt_at timestamp not null,
+    last_error varchar(1000),
+    created_at timestamp,
+    sent_at timestamp
+);
@@ -0,0 +1,143 @@
+package com.babili.springbootsecurity.config;
+
+import com.babili.springbootsecurity.security.AdaptiveConcurrencyLimiter;
+import com.babili.springbootsecurity.security.AuthTokenFilter;
+import com.babili.springbootsecurity.security.BoundedPasswordEncoder;
+import com.babili.springbootsecurity.security.ConcurrencyLimitFilter;
+import com.babili.springbootsecurity.security.ManagementPortRequestMatcher;
+import com.babili.springbootsecurity.security.PasswordEncoderCalibrator;
+import com.babili.springbootsecurity.security.VerifiedTokenCache;
+import com.babili.springbootsecurity.util.JwtUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+import java.time.Duration;
+import java.util.Map;
+
+@Configuration
+@EnableWebSecurity
+@EnableMethodSecurity(prePostEnabled = true)
+public class SecurityConfig {
+    
+    private final UserDetailsService userDetailsService;
+    private final JwtUtils jwtUtils;
+    private final VerifiedTokenCache verifiedTokenCache;
+    
+    public SecurityConfig(UserDetailsService userDetailsService, JwtUtils jwtUtils,
+                          VerifiedTokenCache verifiedTokenCache) {
+        this.userDetailsService = userDetailsService;
+        this.jwtUtils = jwtUtils;
+        this.verifiedTokenCache = verifiedTokenCache;
+    }
+    
+    @Bean
+    public AuthTokenFilter authenticationJwtTokenFilter() {
+        return new AuthTokenFilter(jwtUtils, userDetailsService, verifiedTokenCache);
+    }
+    
+    @Bean
+    public ConcurrencyLimitFilter authConcurrencyLimitFilter(
+            @Value("${app.concurrency-limit.enabled:true}") boolean enabled,
+            @Value("${app.concurrency-limit.initial-limit:20}") int initialLimit,
+            @Value("${app.concurrency-limit.min-limit:2}") int minLimit,
+            @Value("${app.concurrency-limit.max-limit:200}") int maxLimit,
+            @Value("${app.concurrency-limit.latency-tolerance:2.0}") double latencyTolerance,
+            @Value("${app.concurrency-limit.backoff-ratio:0.9}") double backoffRatio,
+            @Value("${app.concurrency-limit.retry-after-seconds:1}") long retryAfterSeconds,
+            MeterRegistry meterRegistry) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit,
+                latencyTolerance, backoffRatio, "auth", meterRegistry);
+        return new ConcurrencyLimitFilter(limiter, enabled, retryAfterSeconds);
+    }
+    
+    // Both filters run inside the security chain at the positions given in filterChain;
+    // as beans Boot would also register them with the servlet container, ahead of the chain
+    @Bean
+    public FilterRegistrationBean<AuthTokenFilter> authTokenFilterRegistration(AuthTokenFilter filter) {
+        FilterRegistrationBean<AuthTokenFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+    
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilterRegistration(ConcurrencyLimitFilter filter) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+    
+    @Bean
+    public PasswordEncoder passwordEncoder(
+            @Value("${app.password-hashing.pool-size:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int poolSize,
+            @Value("${app.password-hashing.queue-capacity:100}") int queueCapacity,
+            @Value("${app.password-hashing.retry-after-seconds:1}") long retryAfterSeconds,
+            @Value("${app.password-hashing.strength:10}") int strength,
+            @Value("${app.password-hashing.calibration.enabled:true}") boolean calibrationEnabled,
+            @Value("${app.password-hashing.calibration.target-latency:250ms}") Duration targetLatency,
+            @Value("${app.password-hashing.calibration.max-strength:16}") int maxStrength,
+            MeterRegistry meterRegistry) {
+        int bcryptStrength = calibrationEnabled
+                ? PasswordEncoderCalibrator.calibrateBCryptStrength(targetLatency, strength, maxStrength)
+                : strength;
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        
+        // Hashes stored before the {bcrypt} prefix was introduced are still verified,
+        // and report upgradeEncoding() so they are rewritten on the next login
+        DelegatingPasswordEncoder delegatingEncoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        delegatingEncoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        
+        return new BoundedPasswordEncoder(delegatingEncoder, poolSize, queueCapacity,
+                retryAfterSeconds, meterRegistry);
+    }
+    
+    @Bean
+    public ManagementPortRequestMatcher managementPortRequestMatcher() {
+        return new ManagementPortRequestMatcher();
+    }
+    
+    @Bean
+    public AuthenticationManager authenticationManager(AuthenticationConfiguration config) 
+            throws Exception {
+        return config.getAuthenticationManager();
+    }
+    
+    @Bean
+    public SecurityFilterChain filterChain(HttpSecurity http,
+                                           ConcurrencyLimitFilter authConcurrencyLimitFilter,
+                                           ManagementPortRequestMatcher managementPort) throws Exception {
+        http
+            .cors(cors -> cors.disable())
+            .csrf(csrf -> csrf.disable())
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .authorizeHttpRequests(authz -> authz
+                .requestMatchers("/api/auth/**").permitAll()
+                .requestMatchers("/api/public/**").permitAll()
+                .requestMatchers("/actuator/health").permitAll()
+                // Scraped without credentials, so only on management.server.port, which stays
+                // off the public network; on the API port it needs ADMIN like the rest of /actuator
+                .requestMatchers(request -> managementPort.matches(request)
+                        && "/actuator/prometheus".equals(request.getRequestURI())).permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
+                .anyRequest().authenticated()
+            )
+            .addFilterBefore(authConcurrencyLimitFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterBefore(authenticationJwtTokenFilter(), UsernamePasswordAuthenticationFilter.class);
+        
+        return http.build();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.babili.springbootsecurity.config;
+
+import com.babili.springbootsecurity.tracing.RequestTraceFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+@Configuration
+public class TracingConfig {
+    
+    // Ahead of the security filter chain so AuthTokenFilter and the rate limits are inside the trace
+    @Bean
+    public FilterRegistrationBean<RequestTraceFilter> requestTraceFilter(
+            @Value("${app.tracing.enabled:true}") boolean enabled,
+            @Value("${app.tracing.slow-request-threshold:1s}") Duration slowRequestThreshold) {
+        FilterRegistrationBean<RequestTraceFilter> registration =
+                new FilterRegistrationBean<>(new RequestTraceFilter(enabled, slowRequestThreshold));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
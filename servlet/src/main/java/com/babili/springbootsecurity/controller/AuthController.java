@@ -2,10 +2,11 @@ package com.babili.springbootsecurity.controller;
 
 import com.babili.springbootsecurity.dto.*;
 import com.babili.springbootsecurity.exception.UserAlreadyExistsException;
+import com.babili.springbootsecurity.security.RateLimiter;
 import com.babili.springbootsecurity.service.AuthService;
 import com.babili.springbootsecurity.service.RegistrationService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -16,10 +17,12 @@ public class AuthController {
     
     private final AuthService authService;
     private final RegistrationService registrationService;
+    private final RateLimiter rateLimiter;
     
-    public AuthController(AuthService authService, RegistrationService registrationService) {
+    public AuthController(AuthService authService, RegistrationService registrationService, RateLimiter rateLimiter) {
         this.authService = authService;
         this.registrationService = registrationService;
+        this.rateLimiter = rateLimiter;
     }
     
     @PostMapping("/register")
@@ -33,41 +36,25 @@ public class AuthController {
     }
     
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request) {
-        try {
-            AuthResponse authResponse = authService.login(request);
-            return ResponseEntity.ok(authResponse);
-        } catch (RuntimeException e) {
-            if (e.getMessage().equals("Two-factor authentication required")) {
-                return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
-                        .body(new MessageResponse(e.getMessage()));
-            }
-            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body(new MessageResponse("Invalid credentials"));
-        }
+    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request, HttpServletRequest httpRequest) {
+        rateLimiter.check(RateLimiter.Limit.LOGIN_PER_IP, httpRequest.getRemoteAddr());
+        rateLimiter.check(RateLimiter.Limit.LOGIN_PER_EMAIL, request.getEmail());
+        return ResponseEntity.ok(authService.login(request));
     }
     
     @PostMapping("/verify-email")
     public ResponseEntity<?> verifyEmail(@RequestParam String token) {
-        try {
-            if (authService.verifyEmail(token)) {
-                return ResponseEntity.ok(new MessageResponse("Email verified successfully!"));
-            } else {
-                return ResponseEntity.badRequest().body(new MessageResponse("Invalid or expired token"));
-            }
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body(new MessageResponse("Invalid or expired token"));
+        if (authService.verifyEmail(token)) {
+            return ResponseEntity.ok(new MessageResponse("Email verified successfully!"));
         }
+        return ResponseEntity.badRequest().body(new MessageResponse("Invalid or expired token"));
     }
     
     @PostMapping("/resend-verification")
-    public ResponseEntity<?> resendVerification(@RequestParam String email) {
-        try {
-            authService.resendVerificationEmail(email);
-            return ResponseEntity.ok(new MessageResponse("Verification email sent"));
-        } catch (RuntimeException e) {
-            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
-        }
+    public ResponseEntity<?> resendVerification(@RequestParam String email, HttpServletRequest httpRequest) {
+        rateLimiter.check(RateLimiter.Limit.RESEND_VERIFICATION_PER_IP, httpRequest.getRemoteAddr());
+        rateLimiter.check(RateLimiter.Limit.RESEND_VERIFICATION_PER_EMAIL, email);
+        authService.resendVerificationEmail(email);
+        return ResponseEntity.ok(new MessageResponse("Verification email sent"));
     }
 }
\ No newline at end of file
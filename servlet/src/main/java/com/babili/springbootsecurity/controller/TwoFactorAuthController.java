@@ -0,0 +1,80 @@
+package com.babili.springbootsecurity.controller;
+
+import com.babili.springbootsecurity.dto.MessageResponse;
+import com.babili.springbootsecurity.dto.TwoFactorSetupResponse;
+import com.babili.springbootsecurity.dto.TwoFactorVerificationRequest;
+import com.babili.springbootsecurity.security.RateLimiter;
+import com.babili.springbootsecurity.security.UserPrincipal;
+import com.babili.springbootsecurity.service.TwoFactorAuthService;
+import com.babili.springbootsecurity.util.QrCodeRenderer;
+import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/auth/2fa")
+@CrossOrigin(origins = "http://localhost:3000")
+public class TwoFactorAuthController {
+    
+    private final TwoFactorAuthService twoFactorAuthService;
+    private final RateLimiter rateLimiter;
+    
+    public TwoFactorAuthController(TwoFactorAuthService twoFactorAuthService, RateLimiter rateLimiter) {
+        this.twoFactorAuthService = twoFactorAuthService;
+        this.rateLimiter = rateLimiter;
+    }
+    
+    @PostMapping("/setup")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<?> setupTwoFactor(Authentication authentication) {
+        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        TwoFactorSetupResponse response = twoFactorAuthService.setupTwoFactor(userPrincipal.getEmail());
+        return ResponseEntity.ok(response);
+    }
+    
+    @PostMapping("/verify-setup")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<?> verifyTwoFactorSetup(@Valid @RequestBody TwoFactorVerificationRequest request,
+                                                 Authentication authentication) {
+        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        rateLimiter.check(RateLimiter.Limit.TWO_FACTOR_PER_USER, userPrincipal.getEmail());
+        twoFactorAuthService.verifyTwoFactorSetup(userPrincipal.getEmail(), request.getCode());
+        return ResponseEntity.ok(new MessageResponse("Two-factor authentication enabled successfully"));
+    }
+    
+    @PostMapping("/disable")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<?> disableTwoFactor(@Valid @RequestBody TwoFactorVerificationRequest request,
+                                            Authentication authentication) {
+        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        rateLimiter.check(RateLimiter.Limit.TWO_FACTOR_PER_USER, userPrincipal.getEmail());
+        twoFactorAuthService.disableTwoFactor(userPrincipal.getEmail(), request.getCode());
+        return ResponseEntity.ok(new MessageResponse("Two-factor authentication disabled successfully"));
+    }
+    
+    @GetMapping("/qr-code")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<byte[]> getQRCode(@RequestParam(defaultValue = "png") String format,
+                                            Authentication authentication) {
+        QrCodeRenderer.Format imageFormat;
+        try {
+            imageFormat = QrCodeRenderer.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        QrCodeRenderer.QrCodeImage qrCode = twoFactorAuthService.getQRCodeForUser(userPrincipal.getEmail(), imageFormat);
+        
+        // The image is a few hundred bytes served from the renderer cache, so it is returned
+        // whole rather than streamed. Spring answers 304 itself when If-None-Match matches the ETag
+        return ResponseEntity.ok()
+                .contentType(qrCode.format().getMediaType())
+                .eTag(qrCode.etag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(qrCode.content());
+    }
+}
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.babili.springbootsecurity.entity;
 
+import com.babili.springbootsecurity.security.UserAccount;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -14,7 +15,7 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class User {
+public class User implements UserAccount {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -40,6 +41,9 @@ public class User {
     @Column(name = "two_factor_secret")
     private String twoFactorSecret;
     
+    @Column(name = "verification_nonce")
+    private Long verificationNonce;
+    
     @Enumerated(EnumType.STRING)
     private Role role = Role.USER;
     
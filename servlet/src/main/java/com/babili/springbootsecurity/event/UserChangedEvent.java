@@ -0,0 +1,5 @@
+package com.babili.springbootsecurity.event;
+
+// The cache is keyed by email, so that is all a change needs to carry
+public record UserChangedEvent(String email) {
+}
@@ -1,6 +1,8 @@
 package com.babili.springbootsecurity.exception;
 
 import com.babili.springbootsecurity.dto.MessageResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -18,6 +20,11 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(new MessageResponse(ex.getMessage()));
     }
     
+    @ExceptionHandler(AuthFailureException.class)
+    public ResponseEntity<?> handleAuthFailure(AuthFailureException ex) {
+        return ResponseEntity.status(ex.getReason().getStatus()).body(new MessageResponse(ex.getMessage()));
+    }
+    
     @ExceptionHandler(TokenExpiredException.class)
     public ResponseEntity<?> handleTokenExpired(TokenExpiredException ex) {
         return ResponseEntity.badRequest().body(new MessageResponse(ex.getMessage()));
@@ -28,6 +35,20 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(new MessageResponse(ex.getMessage()));
     }
     
+    @ExceptionHandler(PasswordHashingUnavailableException.class)
+    public ResponseEntity<?> handlePasswordHashingUnavailable(PasswordHashingUnavailableException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(new MessageResponse(ex.getMessage()));
+    }
+    
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<?> handleRateLimitExceeded(RateLimitExceededException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(new MessageResponse(ex.getMessage()));
+    }
+    
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<?> handleValidationExceptions(MethodArgumentNotValidException ex) {
         Map<String, String> errors = new HashMap<>();
@@ -0,0 +1,14 @@
+package com.babili.springbootsecurity.exception;
+
+public class PasswordHashingUnavailableException extends RuntimeException {
+    private final long retryAfterSeconds;
+    
+    public PasswordHashingUnavailableException(long retryAfterSeconds) {
+        super("Server is busy, please try again later");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
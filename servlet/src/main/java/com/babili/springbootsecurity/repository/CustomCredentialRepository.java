@@ -1,6 +1,5 @@
 package com.babili.springbootsecurity.repository;
 
-import com.babili.springbootsecurity.entity.User;
 import com.babili.springbootsecurity.service.UserService;
 import com.warrenstrange.googleauth.ICredentialRepository;
 import org.springframework.stereotype.Component;
@@ -18,9 +17,7 @@ public class CustomCredentialRepository implements ICredentialRepository {
 
     @Override
     public String getSecretKey(String userName) {
-        return userService.findByEmail(userName)
-                .map(User::getTwoFactorSecret)
-                .orElse(null);
+        return userService.findTwoFactorSecret(userName).orElse(null);
     }
 
     @Override
@@ -0,0 +1,32 @@
+package com.babili.springbootsecurity.repository;
+
+import com.babili.springbootsecurity.entity.EmailOutboxMessage;
+import com.babili.springbootsecurity.entity.EmailOutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Long> {
+    // Lock timeout -2 is SKIP LOCKED, so several dispatchers never claim the same rows
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    List<EmailOutboxMessage> findByStatusInAndNextAttemptAtLessThanEqualOrderById(Collection<EmailOutboxStatus> statuses,
+                                                                                  LocalDateTime now,
+                                                                                  Pageable pageable);
+    
+    @Query("select m.id from EmailOutboxMessage m where m.status = :status and m.sentAt < :cutoff order by m.id")
+    List<Long> findIdsByStatusAndSentAtBefore(@Param("status") EmailOutboxStatus status,
+                                              @Param("cutoff") LocalDateTime cutoff,
+                                              Pageable pageable);
+}
@@ -0,0 +1,34 @@
+package com.babili.springbootsecurity.repository;
+
+import com.babili.springbootsecurity.entity.EmailVerificationToken;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface EmailVerificationTokenRepository extends JpaRepository<EmailVerificationToken, Long> {
+    Optional<EmailVerificationToken> findByToken(String token);
+    
+    @Modifying
+    @Query("delete from EmailVerificationToken t where t.token = :token")
+    int deleteByToken(@Param("token") String token);
+    
+    // Rotates a user's pending token in place (user_id is unique) without loading it
+    @Modifying(clearAutomatically = true)
+    @Query("update EmailVerificationToken t set t.token = :token, t.expiresAt = :expiresAt, t.createdAt = :createdAt " +
+           "where t.user.id = :userId")
+    int replaceToken(@Param("userId") Long userId,
+                     @Param("token") String token,
+                     @Param("expiresAt") LocalDateTime expiresAt,
+                     @Param("createdAt") LocalDateTime createdAt);
+    
+    @Query("select t.id from EmailVerificationToken t where t.expiresAt < :now order by t.expiresAt")
+    List<Long> findExpiredIds(@Param("now") LocalDateTime now, Pageable pageable);
+}
\ No newline at end of file
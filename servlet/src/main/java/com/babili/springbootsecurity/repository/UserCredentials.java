@@ -0,0 +1,12 @@
+package com.babili.springbootsecurity.repository;
+
+import com.babili.springbootsecurity.entity.Role;
+
+// Read-only view of a user for authentication: what UserPrincipal needs and nothing else
+public record UserCredentials(Long id,
+                              String email,
+                              String password,
+                              Role role,
+                              boolean emailVerified,
+                              boolean twoFactorEnabled) {
+}
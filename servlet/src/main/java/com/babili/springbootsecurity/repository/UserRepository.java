@@ -0,0 +1,50 @@
+package com.babili.springbootsecurity.repository;
+
+import com.babili.springbootsecurity.entity.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface UserRepository extends JpaRepository<User, Long> {
+    // Emails match case-insensitively; lower(email) is indexed by schema-postgresql.sql
+    @Query("select u from User u where lower(u.email) = lower(:email)")
+    Optional<User> findByEmail(@Param("email") String email);
+    
+    @Query("select count(u) > 0 from User u where lower(u.email) = lower(:email)")
+    boolean existsByEmail(@Param("email") String email);
+    
+    // Authentication paths read these instead of the entity: fewer columns, and nothing
+    // enters the persistence context to be snapshotted and dirty-checked
+    @Query("select new com.babili.springbootsecurity.repository.UserCredentials(" +
+           "u.id, u.email, u.password, u.role, u.emailVerified, u.twoFactorEnabled) " +
+           "from User u where lower(u.email) = lower(:email)")
+    Optional<UserCredentials> findCredentialsByEmail(@Param("email") String email);
+    
+    @Query("select u.twoFactorSecret from User u where lower(u.email) = lower(:email)")
+    Optional<String> findTwoFactorSecretByEmail(@Param("email") String email);
+    
+    @Modifying(clearAutomatically = true)
+    @Query("update User u set u.password = :password where u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
+    
+    @Modifying(clearAutomatically = true)
+    @Query("update User u set u.emailVerified = true, u.updatedAt = :now " +
+           "where u.id = (select t.user.id from EmailVerificationToken t where t.token = :token and t.expiresAt > :now)")
+    int markEmailVerifiedByToken(@Param("token") String token, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("update User u set u.verificationNonce = :nonce where u.id = :id and u.emailVerified = false")
+    int updateVerificationNonce(@Param("id") Long id, @Param("nonce") long nonce);
+    
+    // Matching on the nonce makes a signed link single-use and lets a resend revoke older links
+    @Modifying(clearAutomatically = true)
+    @Query("update User u set u.emailVerified = true, u.verificationNonce = null, u.updatedAt = :now " +
+           "where u.id = :id and u.verificationNonce = :nonce and u.emailVerified = false")
+    int markEmailVerifiedByNonce(@Param("id") Long id, @Param("nonce") long nonce, @Param("now") LocalDateTime now);
+}
\ No newline at end of file
@@ -0,0 +1,115 @@
+package com.babili.springbootsecurity.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+// AIMD concurrency limit driven by latency: the limit grows by one for every measured request
+// that completes near the baseline latency while the limit is actually in use, and is cut by
+// backoffRatio when a measured request is much slower than the baseline or one was shed
+// downstream. Requests over the limit are rejected immediately instead of queueing.
+public class AdaptiveConcurrencyLimiter {
+    private static final double BASELINE_SMOOTHING = 0.01;
+
+    public enum Sample {
+        // Did the expensive work (hashed a password); its latency drives the limit
+        MEASURED,
+        // Finished without it, e.g. rate limited or rejected by validation; only frees the slot
+        UNMEASURED,
+        // Shed further down, e.g. by the hashing pool
+        DROPPED
+    }
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double latencyTolerance;
+    private final double backoffRatio;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Counter rejections;
+
+    private volatile int limit;
+    private double estimatedLimit; // guarded by lock
+    private double baselineRttNanos; // guarded by lock
+    private boolean backedOff; // guarded by lock
+    private long lastBackoffNanos; // guarded by lock
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double latencyTolerance,
+                                      double backoffRatio, String name, MeterRegistry meterRegistry) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTolerance = latencyTolerance;
+        this.backoffRatio = backoffRatio;
+        this.estimatedLimit = initialLimit;
+        this.limit = initialLimit;
+
+        Gauge.builder("concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("concurrency.inflight", inFlight, AtomicInteger::get)
+                .tag("name", name)
+                .register(meterRegistry);
+        this.rejections = Counter.builder("concurrency.rejected")
+                .tag("name", name)
+                .description("Requests shed because the concurrency limit was reached")
+                .register(meterRegistry);
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejections.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long startNanos, long rttNanos, Sample sample) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        if (sample == Sample.UNMEASURED) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            if (sample == Sample.MEASURED && baselineRttNanos == 0) {
+                baselineRttNanos = rttNanos;
+            }
+
+            if (sample == Sample.DROPPED || rttNanos > baselineRttNanos * latencyTolerance) {
+                // Requests already in flight at the last cut saw the same congestion;
+                // letting each of them cut again would collapse the limit after one stall
+                if (!backedOff || startNanos - lastBackoffNanos > 0) {
+                    estimatedLimit = Math.max(minLimit, estimatedLimit * backoffRatio);
+                    backedOff = true;
+                    lastBackoffNanos = startNanos + rttNanos;
+                }
+            } else if (inFlightAtCompletion * 2 >= estimatedLimit) {
+                estimatedLimit = Math.min(maxLimit, estimatedLimit + 1);
+            }
+            // The baseline follows every measured sample slowly so a lasting shift in latency
+            // (a slower database, a higher BCrypt cost) stops counting as congestion
+            if (sample == Sample.MEASURED) {
+                baselineRttNanos += (rttNanos - baselineRttNanos) * BASELINE_SMOOTHING;
+            }
+            limit = (int) estimatedLimit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,108 @@
+package com.babili.springbootsecurity.security;
+
+import com.babili.springbootsecurity.tracing.AuthTokenFilterEvent;
+import com.babili.springbootsecurity.tracing.RequestTrace;
+import com.babili.springbootsecurity.util.JwtUtils;
+import com.babili.springbootsecurity.util.RateLimitedLogger;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+public class AuthTokenFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
+    // Rejected tokens are already logged and counted by JwtUtils; this only covers failures
+    // after a token was accepted, such as a user that has since been deleted
+    private static final RateLimitedLogger failureLog = new RateLimitedLogger(logger, Duration.ofSeconds(10));
+    
+    private final JwtUtils jwtUtils;
+    private final UserDetailsService userDetailsService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    
+    public AuthTokenFilter(JwtUtils jwtUtils, UserDetailsService userDetailsService,
+                           VerifiedTokenCache verifiedTokenCache) {
+        this.jwtUtils = jwtUtils;
+        this.userDetailsService = userDetailsService;
+        this.verifiedTokenCache = verifiedTokenCache;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
+                                  FilterChain filterChain) throws ServletException, IOException {
+        AuthTokenFilterEvent event = new AuthTokenFilterEvent();
+        event.begin();
+        long start = System.nanoTime();
+        String outcome = "anonymous";
+        try {
+            String jwt = parseJwt(request);
+            if (jwt != null) {
+                outcome = "rejected";
+                Claims claims = verifyJwt(jwt, event);
+                event.setVerifyDuration(System.nanoTime() - start);
+                if (claims != null) {
+                    long principalStart = System.nanoTime();
+                    String username = claims.getSubject();
+                    
+                    UserDetails userDetails = jwtUtils.getPrincipalFromClaims(claims);
+                    if (userDetails == null) {
+                        userDetails = userDetailsService.loadUserByUsername(username);
+                    }
+                    UsernamePasswordAuthenticationToken authentication = 
+                        new UsernamePasswordAuthenticationToken(userDetails, null, 
+                                                              userDetails.getAuthorities());
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    event.setPrincipalDuration(System.nanoTime() - principalStart);
+                    outcome = "authenticated";
+                }
+            }
+        } catch (Exception e) {
+            outcome = "error";
+            failureLog.warn(e.getClass().getName(), "Cannot set user authentication: {}", e.getMessage());
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.setOutcome(outcome);
+            event.commit();
+        }
+        RequestTrace.record("authTokenFilter", start, outcome);
+        
+        filterChain.doFilter(request, response);
+    }
+    
+    private Claims verifyJwt(String jwt, AuthTokenFilterEvent event) {
+        Claims claims = verifiedTokenCache.get(jwt);
+        event.setTokenCacheHit(claims != null);
+        if (claims == null) {
+            claims = jwtUtils.getClaimsFromJwtToken(jwt);
+            if (claims != null) {
+                verifiedTokenCache.put(jwt, claims);
+            }
+        }
+        return claims;
+    }
+    
+    private String parseJwt(HttpServletRequest request) {
+        String headerAuth = request.getHeader("Authorization");
+        
+        if (StringUtils.hasText(headerAuth) && headerAuth.startsWith("Bearer ")) {
+            return headerAuth.substring(7);
+        }
+        
+        return null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.babili.springbootsecurity.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+// Sheds login and registration requests once the adaptive limit is reached,
+// before they can tie up a servlet thread, the hashing pool or a database connection
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    private static final Set<String> LIMITED_PATHS = Set.of("/api/auth/login", "/api/auth/register");
+    private static final String REJECTED_BODY = "{\"message\":\"Server is busy, please try again later\"}";
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final boolean enabled;
+    private final long retryAfterSeconds;
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter, boolean enabled, long retryAfterSeconds) {
+        this.limiter = limiter;
+        this.enabled = enabled;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled
+                || !HttpMethod.POST.matches(request.getMethod())
+                || !LIMITED_PATHS.contains(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!limiter.tryAcquire()) {
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write(REJECTED_BODY);
+            return;
+        }
+
+        long start = System.nanoTime();
+        int hashesBefore = BoundedPasswordEncoder.hashesOnCurrentThread();
+        AdaptiveConcurrencyLimiter.Sample sample = AdaptiveConcurrencyLimiter.Sample.DROPPED;
+        try {
+            filterChain.doFilter(request, response);
+            if (response.getStatus() != HttpServletResponse.SC_SERVICE_UNAVAILABLE) {
+                // Rate-limited, unknown-user and invalid requests finish fast without hashing;
+                // sampling them would drag the baseline below BCrypt latency
+                sample = BoundedPasswordEncoder.hashesOnCurrentThread() != hashesBefore
+                        ? AdaptiveConcurrencyLimiter.Sample.MEASURED
+                        : AdaptiveConcurrencyLimiter.Sample.UNMEASURED;
+            }
+        } finally {
+            limiter.release(start, System.nanoTime() - start, sample);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.babili.springbootsecurity.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+// Matches requests that arrived on the separate management server. Its port is taken from the
+// started server, so a random test port works; with no separate server nothing matches
+public class ManagementPortRequestMatcher implements RequestMatcher, ApplicationListener<WebServerInitializedEvent> {
+    private static final String MANAGEMENT_NAMESPACE = "management";
+    
+    private volatile int port = -1;
+    
+    @Override
+    public void onApplicationEvent(WebServerInitializedEvent event) {
+        if (MANAGEMENT_NAMESPACE.equals(event.getApplicationContext().getServerNamespace())) {
+            port = event.getWebServer().getPort();
+        }
+    }
+    
+    @Override
+    public boolean matches(HttpServletRequest request) {
+        return request.getLocalPort() == port;
+    }
+}
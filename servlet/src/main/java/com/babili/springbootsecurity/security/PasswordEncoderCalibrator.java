@@ -0,0 +1,40 @@
+package com.babili.springbootsecurity.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+public final class PasswordEncoderCalibrator {
+    private static final Logger logger = LoggerFactory.getLogger(PasswordEncoderCalibrator.class);
+    private static final int SAMPLES = 3;
+
+    private PasswordEncoderCalibrator() {
+    }
+
+    // Each BCrypt cost step doubles the work, so one measurement at the minimum cost
+    // is enough to pick the highest cost that still fits the latency target
+    public static int calibrateBCryptStrength(Duration targetLatency, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(minStrength);
+        encoder.encode("calibration"); // warm up
+
+        long bestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode("calibration");
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+        }
+
+        int strength = minStrength;
+        long estimatedNanos = bestNanos;
+        while (strength < maxStrength && estimatedNanos * 2 <= targetLatency.toNanos()) {
+            strength++;
+            estimatedNanos *= 2;
+        }
+
+        logger.info("Calibrated BCrypt strength {} (~{} ms per hash, target {} ms)",
+                strength, Duration.ofNanos(estimatedNanos).toMillis(), targetLatency.toMillis());
+        return strength;
+    }
+}
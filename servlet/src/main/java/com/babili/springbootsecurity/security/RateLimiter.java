@@ -0,0 +1,106 @@
+package com.babili.springbootsecurity.security;
+
+import com.babili.springbootsecurity.exception.RateLimitExceededException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// GCRA (the "virtual scheduling" form of a token bucket): each key holds a single
+// theoretical arrival time that is advanced with a CAS, so checks never take a lock.
+// Keys expire once idle for a full burst window, at which point they are
+// indistinguishable from a fresh key, and the table is capped at max-keys per limit.
+@Component
+public class RateLimiter {
+
+    public enum Limit {
+        LOGIN_PER_IP("login-per-ip", 20, Duration.ofMinutes(1)),
+        LOGIN_PER_EMAIL("login-per-email", 5, Duration.ofMinutes(1)),
+        TWO_FACTOR_PER_USER("two-factor-per-user", 5, Duration.ofMinutes(1)),
+        RESEND_VERIFICATION_PER_IP("resend-verification-per-ip", 10, Duration.ofMinutes(15)),
+        RESEND_VERIFICATION_PER_EMAIL("resend-verification-per-email", 3, Duration.ofMinutes(15));
+
+        private final String property;
+        private final int defaultCapacity;
+        private final Duration defaultPeriod;
+
+        Limit(String property, int defaultCapacity, Duration defaultPeriod) {
+            this.property = property;
+            this.defaultCapacity = defaultCapacity;
+            this.defaultPeriod = defaultPeriod;
+        }
+    }
+
+    private final boolean enabled;
+    private final Map<Limit, Bucket> buckets = new EnumMap<>(Limit.class);
+
+    public RateLimiter(Environment environment, MeterRegistry meterRegistry) {
+        this.enabled = environment.getProperty("app.rate-limit.enabled", Boolean.class, true);
+        long maxKeys = environment.getProperty("app.rate-limit.max-keys", Long.class, 100_000L);
+
+        for (Limit limit : Limit.values()) {
+            String prefix = "app.rate-limit." + limit.property;
+            int capacity = environment.getProperty(prefix + ".capacity", Integer.class, limit.defaultCapacity);
+            Duration period = environment.getProperty(prefix + ".period", Duration.class, limit.defaultPeriod);
+            Counter rejections = Counter.builder("rate.limit.rejected")
+                    .tag("limit", limit.property)
+                    .description("Requests refused by the rate limiter")
+                    .register(meterRegistry);
+            buckets.put(limit, new Bucket(capacity, period, maxKeys, rejections));
+        }
+    }
+
+    // Throws before the caller does any work when the key is over its limit
+    public void check(Limit limit, String key) {
+        if (!enabled || key == null) {
+            return;
+        }
+        long waitNanos = buckets.get(limit).acquire(key.trim().toLowerCase(Locale.ROOT), System.nanoTime());
+        if (waitNanos > 0) {
+            throw new RateLimitExceededException(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999)));
+        }
+    }
+
+    private static final class Bucket {
+        private final long emissionIntervalNanos;
+        private final long burstToleranceNanos;
+        private final Cache<String, AtomicLong> arrivals;
+        private final Counter rejections;
+
+        private Bucket(int capacity, Duration period, long maxKeys, Counter rejections) {
+            this.emissionIntervalNanos = period.toNanos() / capacity;
+            this.burstToleranceNanos = emissionIntervalNanos * capacity;
+            this.arrivals = Caffeine.newBuilder()
+                    .maximumSize(maxKeys)
+                    .expireAfterAccess(Duration.ofNanos(burstToleranceNanos))
+                    .build();
+            this.rejections = rejections;
+        }
+
+        // Returns 0 when allowed, otherwise how long until the next request would be
+        private long acquire(String key, long now) {
+            AtomicLong arrival = arrivals.get(key, k -> new AtomicLong(now));
+            while (true) {
+                long current = arrival.get();
+                long next = Math.max(current, now) + emissionIntervalNanos;
+                long wait = next - now - burstToleranceNanos;
+                if (wait > 0) {
+                    rejections.increment();
+                    return wait;
+                }
+                if (arrival.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+    }
+}
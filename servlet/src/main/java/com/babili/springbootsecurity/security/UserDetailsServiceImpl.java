@@ -0,0 +1,47 @@
+package com.babili.springbootsecurity.security;
+
+import com.babili.springbootsecurity.repository.UserCredentials;
+import com.babili.springbootsecurity.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+@Service
+public class UserDetailsServiceImpl implements UserDetailsService {
+    private final UserRepository userRepository;
+    private final UserPrincipalCache userPrincipalCache;
+    private final Timer loadTimer;
+    
+    public UserDetailsServiceImpl(UserRepository userRepository, UserPrincipalCache userPrincipalCache,
+                                  MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.userPrincipalCache = userPrincipalCache;
+        // Cache hits and misses together; the userPrincipals cache metrics give the hit ratio
+        this.loadTimer = Timer.builder("user.details.load")
+                .register(meterRegistry);
+    }
+    
+    // Not @Transactional: cache hits must not open a transaction, and the repository
+    // query already runs in its own read-only one
+    @Override
+    public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        return loadTimer.record(() -> userPrincipalCache.get(email, this::loadPrincipal));
+    }
+    
+    private UserPrincipal loadPrincipal(String email) {
+        UserCredentials credentials = userRepository.findCredentialsByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + email));
+        
+        return new UserPrincipal(
+                credentials.id(),
+                credentials.email(),
+                credentials.password(),
+                UserPrincipal.authoritiesFor(credentials.role()),
+                credentials.emailVerified(),
+                credentials.twoFactorEnabled()
+        );
+    }
+}
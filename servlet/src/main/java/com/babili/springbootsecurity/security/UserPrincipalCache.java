@@ -0,0 +1,62 @@
+package com.babili.springbootsecurity.security;
+
+import com.babili.springbootsecurity.event.UserChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+@Component
+public class UserPrincipalCache {
+    private static final String CACHE_NAME = "userPrincipals";
+
+    private final Cache<String, UserPrincipal> cache;
+    private final Counter invalidations;
+
+    public UserPrincipalCache(@Value("${app.user-cache.enabled:true}") boolean enabled,
+                              @Value("${app.user-cache.max-size:10000}") long maxSize,
+                              @Value("${app.user-cache.ttl:5m}") Duration ttl,
+                              MeterRegistry meterRegistry) {
+        this.cache = enabled
+                ? Caffeine.newBuilder()
+                        .maximumSize(maxSize)
+                        .expireAfterWrite(ttl)
+                        .recordStats()
+                        .build()
+                : null;
+        this.invalidations = Counter.builder("cache.invalidations")
+                .tag("cache", CACHE_NAME)
+                .description("Entries removed because the underlying user changed")
+                .register(meterRegistry);
+
+        if (cache != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        }
+    }
+
+    public UserPrincipal get(String email, Function<String, UserPrincipal> loader) {
+        if (cache == null) {
+            return loader.apply(email);
+        }
+        return cache.get(email, loader);
+    }
+
+    public void evict(String email) {
+        if (cache != null && cache.asMap().remove(email) != null) {
+            invalidations.increment();
+        }
+    }
+
+    // Runs after commit so a concurrent load cannot re-cache the pre-change row
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        evict(event.email());
+    }
+}
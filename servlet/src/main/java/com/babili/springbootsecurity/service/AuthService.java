@@ -0,0 +1,147 @@
+package com.babili.springbootsecurity.service;
+
+import com.babili.springbootsecurity.dto.AuthResponse;
+import com.babili.springbootsecurity.dto.LoginRequest;
+import com.babili.springbootsecurity.entity.User;
+import com.babili.springbootsecurity.exception.AuthFailureException;
+import com.babili.springbootsecurity.security.UserPrincipal;
+import com.babili.springbootsecurity.tracing.LoginEvent;
+import com.babili.springbootsecurity.tracing.RequestTrace;
+import com.babili.springbootsecurity.util.JwtUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+
+@Service
+public class AuthService {
+    
+    private final PasswordEncoder passwordEncoder;
+    private final UserService userService;
+    private final TwoFactorAuthService twoFactorAuthService;
+    private final JwtUtils jwtUtils;
+    private final EmailVerificationService emailVerificationService;
+    private final Map<AuthFailureException.Reason, Counter> loginFailureCounters =
+            new EnumMap<>(AuthFailureException.Reason.class);
+    
+    public AuthService(PasswordEncoder passwordEncoder,
+                      UserService userService,
+                      TwoFactorAuthService twoFactorAuthService,
+                      JwtUtils jwtUtils,
+                      EmailVerificationService emailVerificationService,
+                      MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.userService = userService;
+        this.twoFactorAuthService = twoFactorAuthService;
+        this.jwtUtils = jwtUtils;
+        this.emailVerificationService = emailVerificationService;
+        for (AuthFailureException.Reason reason : EnumSet.of(
+                AuthFailureException.Reason.USER_NOT_FOUND,
+                AuthFailureException.Reason.EMAIL_NOT_VERIFIED,
+                AuthFailureException.Reason.BAD_CREDENTIALS,
+                AuthFailureException.Reason.TWO_FACTOR_REQUIRED,
+                AuthFailureException.Reason.INVALID_TWO_FACTOR_CODE)) {
+            loginFailureCounters.put(reason, Counter.builder("auth.login.failures")
+                    .tag("reason", reason.tag())
+                    .description("Login attempts rejected, by reason")
+                    .register(meterRegistry));
+        }
+    }
+    
+    public AuthResponse login(LoginRequest request) {
+        LoginEvent event = new LoginEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            AuthResponse response = authenticate(request, event);
+            event.setOutcome("success");
+            return response;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.commit();
+            }
+            RequestTrace.record("login", start, event.getOutcome());
+        }
+    }
+    
+    private AuthResponse authenticate(LoginRequest request, LoginEvent event) {
+        // Find user
+        long stageStart = System.nanoTime();
+        User user = userService.findByEmail(request.getEmail())
+                .orElseThrow(() -> loginFailure(event, AuthFailureException.Reason.USER_NOT_FOUND));
+        event.setUserLookupDuration(System.nanoTime() - stageStart);
+        
+        // Check if email is verified
+        if (!user.isEmailVerified()) {
+            throw loginFailure(event, AuthFailureException.Reason.EMAIL_NOT_VERIFIED);
+        }
+        
+        // Check password
+        stageStart = System.nanoTime();
+        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+            event.setPasswordDuration(System.nanoTime() - stageStart);
+            throw loginFailure(event, AuthFailureException.Reason.BAD_CREDENTIALS);
+        }
+        
+        // Rehash with the current encoder settings while the raw password is at hand
+        if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+            userService.updatePassword(user, passwordEncoder.encode(request.getPassword()));
+        }
+        event.setPasswordDuration(System.nanoTime() - stageStart);
+        
+        // Handle 2FA if enabled
+        if (user.isTwoFactorEnabled()) {
+            if (request.getTwoFactorCode() == null || request.getTwoFactorCode().isEmpty()) {
+                throw loginFailure(event, AuthFailureException.Reason.TWO_FACTOR_REQUIRED);
+            }
+            
+            stageStart = System.nanoTime();
+            boolean validCode = twoFactorAuthService.verifyCode(user.getTwoFactorSecret(), request.getTwoFactorCode());
+            event.setTwoFactorDuration(System.nanoTime() - stageStart);
+            if (!validCode) {
+                throw loginFailure(event, AuthFailureException.Reason.INVALID_TWO_FACTOR_CODE);
+            }
+        }
+        
+        // Generate JWT token
+        stageStart = System.nanoTime();
+        String jwt = jwtUtils.generateJwtToken(UserPrincipal.create(user));
+        event.setTokenDuration(System.nanoTime() - stageStart);
+        
+        // Build and return response
+        return AuthResponse.builder()
+                .token(jwt)
+                .email(user.getEmail())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .emailVerified(user.isEmailVerified())
+                .twoFactorEnabled(user.isTwoFactorEnabled())
+                .build();
+    }
+    
+    private AuthFailureException loginFailure(LoginEvent event, AuthFailureException.Reason reason) {
+        event.setOutcome(reason.tag());
+        loginFailureCounters.get(reason).increment();
+        return AuthFailureException.of(reason);
+    }
+    
+    public boolean verifyEmail(String token) {
+        return emailVerificationService.verifyToken(token);
+    }
+    
+    public void resendVerificationEmail(String email) {
+        User user = userService.findByEmail(email)
+                .orElseThrow(() -> AuthFailureException.of(AuthFailureException.Reason.USER_NOT_FOUND));
+        
+        if (user.isEmailVerified()) {
+            throw AuthFailureException.of(AuthFailureException.Reason.EMAIL_ALREADY_VERIFIED);
+        }
+        
+        emailVerificationService.createVerificationToken(user);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,207 @@
+package com.babili.springbootsecurity.service;
+
+import com.babili.springbootsecurity.entity.EmailOutboxMessage;
+import com.babili.springbootsecurity.entity.EmailOutboxStatus;
+import com.babili.springbootsecurity.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class EmailOutboxDispatcher {
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final List<EmailOutboxStatus> CLAIMABLE = List.of(EmailOutboxStatus.PENDING, EmailOutboxStatus.SENDING);
+    
+    private final EmailOutboxRepository outboxRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    
+    @Value("${app.email-outbox.batch-size:50}")
+    private int batchSize;
+    
+    @Value("${app.email-outbox.max-attempts:8}")
+    private int maxAttempts;
+    
+    @Value("${app.email-outbox.initial-backoff:30s}")
+    private Duration initialBackoff;
+    
+    @Value("${app.email-outbox.max-backoff:1h}")
+    private Duration maxBackoff;
+    
+    @Value("${app.email-outbox.lease:5m}")
+    private Duration lease;
+    
+    public EmailOutboxDispatcher(EmailOutboxRepository outboxRepository,
+                                 JavaMailSender mailSender,
+                                 TransactionTemplate transactionTemplate,
+                                 MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.mailSender = mailSender;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @Scheduled(initialDelayString = "${app.email-outbox.initial-delay:5s}",
+               fixedDelayString = "${app.email-outbox.poll-interval:5s}")
+    public void dispatch() {
+        int dispatched;
+        do {
+            dispatched = dispatchBatch();
+        } while (dispatched == batchSize);
+    }
+    
+    // Claiming and recording are two short transactions; no transaction or row lock is
+    // held while SMTP is being talked to
+    private int dispatchBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutboxMessage> batch = transactionTemplate.execute(status -> claimBatch(now));
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+        
+        SimpleMailMessage[] messages = new SimpleMailMessage[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            messages[i] = toMailMessage(batch.get(i));
+        }
+        
+        // One send call delivers the whole batch over a single SMTP connection
+        Map<Object, Exception> failures;
+        Timer.Sample sendSample = Timer.start(meterRegistry);
+        try {
+            mailSender.send(messages);
+            failures = Collections.emptyMap();
+        } catch (MailSendException e) {
+            failures = new IdentityHashMap<>(e.getFailedMessages());
+            if (failures.isEmpty()) {
+                failures = allFailed(messages, e);
+            }
+        } catch (MailException e) {
+            failures = allFailed(messages, e);
+        }
+        // One sample per SMTP batch; the counters below are per message
+        sendSample.stop(Timer.builder("email.send")
+                .tag("outcome", failures.isEmpty() ? "success" : failures.size() < messages.length ? "partial" : "failure")
+                .register(meterRegistry));
+        countMessages("sent", messages.length - failures.size());
+        countMessages("failed", failures.size());
+        
+        Map<Object, Exception> sendFailures = failures;
+        transactionTemplate.executeWithoutResult(status -> recordResults(batch, messages, sendFailures, now));
+        return batch.size();
+    }
+    
+    // A SENDING row whose lease has run out was claimed by a dispatcher that stopped mid-send,
+    // so it is claimed again; the lease must outlast the SMTP timeouts of one batch
+    private List<EmailOutboxMessage> claimBatch(LocalDateTime now) {
+        List<EmailOutboxMessage> batch = outboxRepository.findByStatusInAndNextAttemptAtLessThanEqualOrderById(
+                CLAIMABLE, now, PageRequest.of(0, batchSize));
+        LocalDateTime leaseExpiry = now.plus(lease);
+        for (EmailOutboxMessage message : batch) {
+            message.setStatus(EmailOutboxStatus.SENDING);
+            message.setNextAttemptAt(leaseExpiry);
+        }
+        return batch;
+    }
+    
+    private void recordResults(List<EmailOutboxMessage> batch, SimpleMailMessage[] messages,
+                               Map<Object, Exception> failures, LocalDateTime now) {
+        Map<Long, EmailOutboxMessage> claimed = new HashMap<>();
+        for (EmailOutboxMessage message : outboxRepository.findAllById(batch.stream().map(EmailOutboxMessage::getId).toList())) {
+            claimed.put(message.getId(), message);
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            EmailOutboxMessage message = claimed.get(batch.get(i).getId());
+            if (message == null) {
+                continue;
+            }
+            Exception failure = failures.get(messages[i]);
+            if (failure == null) {
+                markSent(message, now);
+            } else {
+                markFailed(message, failure, now);
+            }
+        }
+    }
+    
+    private void countMessages(String outcome, int count) {
+        if (count > 0) {
+            Counter.builder("email.messages")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .increment(count);
+        }
+    }
+    
+    private SimpleMailMessage toMailMessage(EmailOutboxMessage outboxMessage) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setTo(outboxMessage.getRecipient());
+        message.setSubject(outboxMessage.getSubject());
+        message.setText(outboxMessage.getBody());
+        return message;
+    }
+    
+    private Map<Object, Exception> allFailed(SimpleMailMessage[] messages, Exception cause) {
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        for (SimpleMailMessage message : messages) {
+            failures.put(message, cause);
+        }
+        return failures;
+    }
+    
+    private void markSent(EmailOutboxMessage message, LocalDateTime now) {
+        message.setStatus(EmailOutboxStatus.SENT);
+        message.setSentAt(now);
+        message.setLastError(null);
+    }
+    
+    private void markFailed(EmailOutboxMessage message, Exception failure, LocalDateTime now) {
+        int attempts = message.getAttempts() + 1;
+        message.setStatus(EmailOutboxStatus.PENDING);
+        message.setAttempts(attempts);
+        message.setLastError(truncate(failure.getMessage()));
+        
+        if (attempts >= maxAttempts) {
+            message.setStatus(EmailOutboxStatus.DEAD);
+            logger.error("Giving up on email {} to {} after {} attempts: {}",
+                    message.getId(), message.getRecipient(), attempts, failure.getMessage());
+            return;
+        }
+        
+        message.setNextAttemptAt(now.plus(backoff(attempts)));
+        logger.warn("Email {} to {} failed (attempt {}): {}",
+                message.getId(), message.getRecipient(), attempts, failure.getMessage());
+    }
+    
+    private Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+    
+    private static String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
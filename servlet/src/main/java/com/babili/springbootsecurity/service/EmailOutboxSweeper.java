@@ -0,0 +1,78 @@
+package com.babili.springbootsecurity.service;
+
+import com.babili.springbootsecurity.entity.EmailOutboxStatus;
+import com.babili.springbootsecurity.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Delivered messages are only kept for the retention period; DEAD ones stay for inspection
+@Service
+public class EmailOutboxSweeper {
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxSweeper.class);
+
+    private final EmailOutboxRepository outboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter purgedMessages;
+
+    @Value("${app.email-outbox.sweeper.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.email-outbox.sweeper.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.email-outbox.sweeper.retention:7d}")
+    private Duration retention;
+
+    public EmailOutboxSweeper(EmailOutboxRepository outboxRepository,
+                              TransactionTemplate transactionTemplate,
+                              MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.purgedMessages = Counter.builder("email.outbox.purged")
+                .description("Sent outbox messages removed after the retention period")
+                .register(meterRegistry);
+    }
+
+    // Each chunk is its own short transaction so row locks are never held for a whole sweep
+    @Scheduled(initialDelayString = "${app.email-outbox.sweeper.initial-delay:1m}",
+               fixedDelayString = "${app.email-outbox.sweeper.interval:1h}")
+    public void purgeSentMessages() {
+        if (!enabled) {
+            return;
+        }
+
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        long total = 0;
+        int purged;
+        do {
+            Integer deleted = transactionTemplate.execute(status -> purgeChunk(cutoff));
+            purged = deleted != null ? deleted : 0;
+            purgedMessages.increment(purged);
+            total += purged;
+        } while (purged == batchSize);
+
+        if (total > 0) {
+            logger.info("Purged {} sent outbox messages", total);
+        }
+    }
+
+    private int purgeChunk(LocalDateTime cutoff) {
+        List<Long> sentIds = outboxRepository.findIdsByStatusAndSentAtBefore(
+                EmailOutboxStatus.SENT, cutoff, PageRequest.of(0, batchSize));
+        if (!sentIds.isEmpty()) {
+            outboxRepository.deleteAllByIdInBatch(sentIds);
+        }
+        return sentIds.size();
+    }
+}
@@ -0,0 +1,47 @@
+package com.babili.springbootsecurity.service;
+
+import com.babili.springbootsecurity.entity.EmailOutboxMessage;
+import com.babili.springbootsecurity.entity.EmailOutboxStatus;
+import com.babili.springbootsecurity.entity.User;
+import com.babili.springbootsecurity.repository.EmailOutboxRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Service
+public class EmailService {
+    private final EmailOutboxRepository outboxRepository;
+    
+    @Value("${app.name}")
+    private String appName;
+    
+    @Value("${server.port:8080}")
+    private String serverPort;
+
+    public EmailService(EmailOutboxRepository outboxRepository) {
+        this.outboxRepository = outboxRepository;
+    }
+    
+    // Written in the caller's transaction; EmailOutboxDispatcher delivers it after commit
+    @Transactional
+    public void queueVerificationEmail(User user, String token) {
+        String verificationUrl = "http://localhost:" + serverPort + "/api/auth/verify-email?token=" + token;
+
+        EmailOutboxMessage message = EmailOutboxMessage.builder()
+                .recipient(user.getEmail())
+                .subject("Email Verification - " + appName)
+                .body("Dear " + user.getFirstName() + ",\n\n" +
+                        "Please click the following link to verify your email address:\n" +
+                        verificationUrl + "\n\n" +
+                        "This link will expire in 24 hours.\n\n" +
+                        "Best regards,\n" +
+                        appName + " Team")
+                .status(EmailOutboxStatus.PENDING)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+        
+        outboxRepository.save(message);
+    }
+}
@@ -0,0 +1,6 @@
+package com.babili.springbootsecurity.service;
+
+public enum EmailVerificationMode {
+    TABLE,
+    SIGNED
+}
@@ -0,0 +1,96 @@
+package com.babili.springbootsecurity.service;
+
+import com.babili.springbootsecurity.entity.EmailVerificationToken;
+import com.babili.springbootsecurity.entity.User;
+import com.babili.springbootsecurity.repository.EmailVerificationTokenRepository;
+import com.babili.springbootsecurity.repository.UserRepository;
+import com.babili.springbootsecurity.util.VerificationTokenSigner;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Service
+@Transactional
+public class EmailVerificationService {
+    private static final Duration TOKEN_VALIDITY = Duration.ofHours(24);
+    
+    private final EmailVerificationTokenRepository tokenRepository;
+    private final UserRepository userRepository;
+    private final EmailService emailService;
+    private final VerificationTokenSigner tokenSigner;
+    private final SecureRandom secureRandom = new SecureRandom();
+    
+    @Value("${app.email-verification.mode:table}")
+    private EmailVerificationMode mode;
+    
+    public EmailVerificationService(EmailVerificationTokenRepository tokenRepository, 
+                                  UserRepository userRepository,
+                                  EmailService emailService,
+                                  VerificationTokenSigner tokenSigner) {
+        this.tokenRepository = tokenRepository;
+        this.userRepository = userRepository;
+        this.emailService = emailService;
+        this.tokenSigner = tokenSigner;
+    }
+    
+    public void createVerificationToken(User user) {
+        String token = mode == EmailVerificationMode.SIGNED
+                ? createSignedToken(user)
+                : createStoredToken(user);
+        emailService.queueVerificationEmail(user, token);
+    }
+    
+    private String createStoredToken(User user) {
+        String token = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(TOKEN_VALIDITY);
+        
+        // Replace the pending token if there is one; only users without one need an insert
+        if (tokenRepository.replaceToken(user.getId(), token, expiresAt, now) == 0) {
+            EmailVerificationToken verificationToken = EmailVerificationToken.builder()
+                    .token(token)
+                    .user(user)
+                    .expiresAt(expiresAt)
+                    .build();
+            
+            tokenRepository.save(verificationToken);
+        }
+        return token;
+    }
+    
+    // Nothing is stored but a fresh nonce on the user, which also revokes earlier links
+    private String createSignedToken(User user) {
+        long nonce = secureRandom.nextLong();
+        userRepository.updateVerificationNonce(user.getId(), nonce);
+        return tokenSigner.sign(user.getId(), Instant.now().plus(TOKEN_VALIDITY), nonce);
+    }
+    
+    // Links already mailed stay valid when the mode is switched, so dispatch on the token format
+    public boolean verifyToken(String token) {
+        return VerificationTokenSigner.isSignedToken(token)
+                ? verifySignedToken(token)
+                : verifyStoredToken(token);
+    }
+    
+    // Two statements and no entity loading. The update locks the user row, so of two
+    // concurrent clicks on the same link only the first one still finds the token to delete
+    private boolean verifyStoredToken(String token) {
+        boolean verified = userRepository.markEmailVerifiedByToken(token, LocalDateTime.now()) == 1;
+        boolean consumed = tokenRepository.deleteByToken(token) == 1;
+        return verified && consumed;
+    }
+    
+    private boolean verifySignedToken(String token) {
+        VerificationTokenSigner.Payload payload = tokenSigner.verify(token);
+        if (payload == null || payload.expiresAt().isBefore(Instant.now())) {
+            return false;
+        }
+        return userRepository.markEmailVerifiedByNonce(payload.userId(), payload.nonce(), LocalDateTime.now()) == 1;
+    }
+}
@@ -0,0 +1,49 @@
+package com.babili.springbootsecurity.service;
+
+import com.babili.springbootsecurity.dto.RegisterRequest;
+import com.babili.springbootsecurity.entity.User;
+import com.babili.springbootsecurity.exception.UserAlreadyExistsException;
+import com.babili.springbootsecurity.tracing.RegistrationEvent;
+import com.babili.springbootsecurity.tracing.RequestTrace;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@Transactional
+public class RegistrationService {
+    
+    private final UserService userService;
+    private final EmailVerificationService emailVerificationService;
+    
+    public RegistrationService(UserService userService, 
+                             EmailVerificationService emailVerificationService) {
+        this.userService = userService;
+        this.emailVerificationService = emailVerificationService;
+    }
+    
+    public void registerUser(RegisterRequest request) {
+        RegistrationEvent event = new RegistrationEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            // Create user
+            User user = userService.createUser(request);
+            event.setCreateUserDuration(System.nanoTime() - start);
+            
+            // Send verification email
+            long tokenStart = System.nanoTime();
+            emailVerificationService.createVerificationToken(user);
+            event.setVerificationTokenDuration(System.nanoTime() - tokenStart);
+            event.setOutcome("success");
+        } catch (UserAlreadyExistsException e) {
+            event.setOutcome("user_already_exists");
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.commit();
+            }
+            RequestTrace.record("registerUser", start, event.getOutcome());
+        }
+    }
+}
\ No newline at end of file
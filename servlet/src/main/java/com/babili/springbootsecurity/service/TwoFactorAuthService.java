@@ -2,18 +2,19 @@ package com.babili.springbootsecurity.service;
 
 import com.babili.springbootsecurity.dto.TwoFactorSetupResponse;
 import com.babili.springbootsecurity.entity.User;
+import com.babili.springbootsecurity.exception.AuthFailureException;
 import com.babili.springbootsecurity.repository.CustomCredentialRepository;
-import com.google.zxing.BarcodeFormat;
-import com.google.zxing.client.j2se.MatrixToImageWriter;
-import com.google.zxing.common.BitMatrix;
-import com.google.zxing.qrcode.QRCodeWriter;
+import com.babili.springbootsecurity.util.QrCodeRenderer;
+import com.babili.springbootsecurity.util.TotpVerifier;
 import com.warrenstrange.googleauth.GoogleAuthenticator;
 import com.warrenstrange.googleauth.GoogleAuthenticatorConfig;
 import com.warrenstrange.googleauth.GoogleAuthenticatorKey;
 import com.warrenstrange.googleauth.GoogleAuthenticatorQRGenerator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class TwoFactorAuthService {
@@ -21,10 +22,24 @@ public class TwoFactorAuthService {
     private final GoogleAuthenticator gAuth;
     private final UserService userService;
     private final CustomCredentialRepository credentialRepository;
+    private final TotpVerifier totpVerifier;
+    private final QrCodeRenderer qrCodeRenderer;
+    private final Timer validCodeTimer;
+    private final Timer invalidCodeTimer;
 
-    public TwoFactorAuthService(UserService userService, CustomCredentialRepository credentialRepository) {
+    public TwoFactorAuthService(UserService userService, CustomCredentialRepository credentialRepository,
+                                TotpVerifier totpVerifier, QrCodeRenderer qrCodeRenderer,
+                                MeterRegistry meterRegistry) {
         this.userService = userService;
         this.credentialRepository = credentialRepository;
+        this.totpVerifier = totpVerifier;
+        this.qrCodeRenderer = qrCodeRenderer;
+        this.validCodeTimer = Timer.builder("totp.verification")
+                .tag("result", "valid")
+                .register(meterRegistry);
+        this.invalidCodeTimer = Timer.builder("totp.verification")
+                .tag("result", "invalid")
+                .register(meterRegistry);
 
         // Configure GoogleAuthenticator with credential repository
         GoogleAuthenticatorConfig config = new GoogleAuthenticatorConfig.GoogleAuthenticatorConfigBuilder()
@@ -43,34 +58,28 @@ public class TwoFactorAuthService {
         return GoogleAuthenticatorQRGenerator.getOtpAuthURL(ISSUER, email, key);
     }
     
-    public byte[] generateQRCode(String qrUrl) throws Exception {
-        QRCodeWriter qrCodeWriter = new QRCodeWriter();
-        BitMatrix bitMatrix = qrCodeWriter.encode(qrUrl, BarcodeFormat.QR_CODE, 200, 200);
-        
-        ByteArrayOutputStream pngOutputStream = new ByteArrayOutputStream();
-        MatrixToImageWriter.writeToStream(bitMatrix, "PNG", pngOutputStream);
-        return pngOutputStream.toByteArray();
+    public byte[] generateQRCode(String qrUrl) {
+        return qrCodeRenderer.render(qrUrl, QrCodeRenderer.Format.PNG).content();
     }
     
     public boolean verifyCode(String secret, String code) {
-        try {
-            String normalizedCode = code.replaceAll("\\s", "");
-            int codeInt = Integer.parseInt(normalizedCode);
-
-            // Use the secret directly with GoogleAuthenticator
-            return gAuth.authorize(secret, codeInt);
-        } catch (NumberFormatException e) {
+        if (secret == null) {
             return false;
         }
+        long start = System.nanoTime();
+        int codeInt = TotpVerifier.parseCode(code);
+        boolean valid = codeInt >= 0 && totpVerifier.verify(secret, codeInt);
+        (valid ? validCodeTimer : invalidCodeTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return valid;
     }
     
     // Business logic methods
     public TwoFactorSetupResponse setupTwoFactor(String userEmail) {
         User user = userService.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+                .orElseThrow(() -> AuthFailureException.of(AuthFailureException.Reason.USER_NOT_FOUND));
         
         if (user.isTwoFactorEnabled()) {
-            throw new RuntimeException("Two-factor authentication is already enabled");
+            throw AuthFailureException.of(AuthFailureException.Reason.TWO_FACTOR_ALREADY_ENABLED);
         }
         
         String secret = generateSecret();
@@ -89,14 +98,14 @@ public class TwoFactorAuthService {
     
     public void verifyTwoFactorSetup(String userEmail, String code) {
         User user = userService.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+                .orElseThrow(() -> AuthFailureException.of(AuthFailureException.Reason.USER_NOT_FOUND));
         
         if (user.getTwoFactorSecret() == null) {
-            throw new RuntimeException("Two-factor setup not initiated");
+            throw AuthFailureException.of(AuthFailureException.Reason.TWO_FACTOR_SETUP_NOT_INITIATED);
         }
         
         if (!verifyCode(user.getTwoFactorSecret(), code)) {
-            throw new RuntimeException("Invalid verification code");
+            throw AuthFailureException.of(AuthFailureException.Reason.INVALID_VERIFICATION_CODE);
         }
         
         user.setTwoFactorEnabled(true);
@@ -105,14 +114,14 @@ public class TwoFactorAuthService {
     
     public void disableTwoFactor(String userEmail, String code) {
         User user = userService.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+                .orElseThrow(() -> AuthFailureException.of(AuthFailureException.Reason.USER_NOT_FOUND));
         
         if (!user.isTwoFactorEnabled()) {
-            throw new RuntimeException("Two-factor authentication is not enabled");
+            throw AuthFailureException.of(AuthFailureException.Reason.TWO_FACTOR_NOT_ENABLED);
         }
         
         if (!verifyCode(user.getTwoFactorSecret(), code)) {
-            throw new RuntimeException("Invalid verification code");
+            throw AuthFailureException.of(AuthFailureException.Reason.INVALID_VERIFICATION_CODE);
         }
         
         user.setTwoFactorEnabled(false);
@@ -120,15 +129,15 @@ public class TwoFactorAuthService {
         userService.save(user);
     }
     
-    public byte[] getQRCodeForUser(String userEmail) throws Exception {
+    public QrCodeRenderer.QrCodeImage getQRCodeForUser(String userEmail, QrCodeRenderer.Format format) {
         User user = userService.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+                .orElseThrow(() -> AuthFailureException.of(AuthFailureException.Reason.USER_NOT_FOUND));
         
         if (user.getTwoFactorSecret() == null) {
-            throw new RuntimeException("Two-factor setup not initiated");
+            throw AuthFailureException.of(AuthFailureException.Reason.TWO_FACTOR_SETUP_NOT_INITIATED);
         }
         
         String qrUrl = generateQRUrl(user.getTwoFactorSecret(), user.getEmail());
-        return generateQRCode(qrUrl);
+        return qrCodeRenderer.render(qrUrl, format);
     }
 }
\ No newline at end of file
@@ -3,8 +3,10 @@ package com.babili.springbootsecurity.service;
 import com.babili.springbootsecurity.dto.RegisterRequest;
 import com.babili.springbootsecurity.entity.Role;
 import com.babili.springbootsecurity.entity.User;
+import com.babili.springbootsecurity.event.UserChangedEvent;
 import com.babili.springbootsecurity.exception.UserAlreadyExistsException;
 import com.babili.springbootsecurity.repository.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,10 +18,13 @@ import java.util.Optional;
 public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
     
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                       ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
     }
     
     public User createUser(RegisterRequest request) {
@@ -42,12 +47,18 @@ public class UserService {
         return userRepository.findByEmail(email);
     }
     
+    public Optional<String> findTwoFactorSecret(String email) {
+        return userRepository.findTwoFactorSecretByEmail(email);
+    }
+    
     public User save(User user) {
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(saved.getEmail()));
+        return saved;
     }
     
-    public void verifyEmail(User user) {
-        user.setEmailVerified(true);
-        userRepository.save(user);
+    public void updatePassword(User user, String encodedPassword) {
+        userRepository.updatePassword(user.getId(), encodedPassword);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getEmail()));
     }
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.babili.springbootsecurity.tracing;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import lombok.Setter;
+
+@Name("com.babili.springbootsecurity.AuthTokenFilter")
+@Label("JWT Authentication")
+@Description("Bearer token handling in AuthTokenFilter")
+@Category({"Spring Boot Security", "Authentication"})
+@StackTrace(false)
+@Setter
+public class AuthTokenFilterEvent extends jdk.jfr.Event {
+    @Label("Outcome")
+    @Description("anonymous, authenticated, rejected or error")
+    private String outcome;
+
+    @Label("Token Cache Hit")
+    private boolean tokenCacheHit;
+
+    @Label("Verify Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    private long verifyDuration;
+
+    @Label("Principal Duration")
+    @Description("Building the principal from claims or loading the user")
+    @Timespan(Timespan.NANOSECONDS)
+    private long principalDuration;
+}
@@ -0,0 +1,28 @@
+package com.babili.springbootsecurity.tracing;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import lombok.Setter;
+
+@Name("com.babili.springbootsecurity.HttpRequest")
+@Label("HTTP Request")
+@Description("One HTTP request with the stages recorded while serving it")
+@Category({"Spring Boot Security", "Requests"})
+@StackTrace(false)
+@Setter
+public class HttpRequestEvent extends jdk.jfr.Event {
+    @Label("Method")
+    private String method;
+
+    @Label("URI")
+    private String uri;
+
+    @Label("Status")
+    private int status;
+
+    @Label("Stages")
+    private String stages;
+}
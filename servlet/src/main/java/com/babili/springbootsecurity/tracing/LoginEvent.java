@@ -0,0 +1,36 @@
+package com.babili.springbootsecurity.tracing;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import lombok.Getter;
+import lombok.Setter;
+
+@Name("com.babili.springbootsecurity.Login")
+@Label("Login")
+@Category({"Spring Boot Security", "Authentication"})
+@StackTrace(false)
+@Getter
+@Setter
+public class LoginEvent extends jdk.jfr.Event {
+    @Label("Outcome")
+    private String outcome = "error";
+
+    @Label("User Lookup Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    private long userLookupDuration;
+
+    @Label("Password Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    private long passwordDuration;
+
+    @Label("Two-Factor Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    private long twoFactorDuration;
+
+    @Label("Token Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    private long tokenDuration;
+}
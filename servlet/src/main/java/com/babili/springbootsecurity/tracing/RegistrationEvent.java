@@ -0,0 +1,28 @@
+package com.babili.springbootsecurity.tracing;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import lombok.Getter;
+import lombok.Setter;
+
+@Name("com.babili.springbootsecurity.Registration")
+@Label("Registration")
+@Category({"Spring Boot Security", "Authentication"})
+@StackTrace(false)
+@Getter
+@Setter
+public class RegistrationEvent extends jdk.jfr.Event {
+    @Label("Outcome")
+    private String outcome = "error";
+
+    @Label("Create User Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    private long createUserDuration;
+
+    @Label("Verification Token Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    private long verificationTokenDuration;
+}
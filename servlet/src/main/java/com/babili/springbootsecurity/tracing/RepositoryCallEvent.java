@@ -0,0 +1,23 @@
+package com.babili.springbootsecurity.tracing;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import lombok.Setter;
+
+@Name("com.babili.springbootsecurity.RepositoryCall")
+@Label("Repository Call")
+@Category({"Spring Boot Security", "Data Access"})
+@StackTrace(false)
+@Setter
+public class RepositoryCallEvent extends jdk.jfr.Event {
+    @Label("Repository")
+    private String repository;
+
+    @Label("Method")
+    private String method;
+
+    @Label("Outcome")
+    private String outcome;
+}
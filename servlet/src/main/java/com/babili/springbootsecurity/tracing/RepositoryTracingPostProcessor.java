@@ -0,0 +1,51 @@
+package com.babili.springbootsecurity.tracing;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+// Adds timing to the Spring Data repository proxies. The advice is appended, so it runs
+// inside the repository's own transaction interceptor and measures the query itself.
+@Component
+public class RepositoryTracingPostProcessor implements BeanPostProcessor {
+    private final boolean enabled;
+
+    public RepositoryTracingPostProcessor(@Value("${app.tracing.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (enabled && bean instanceof Repository<?, ?> && bean instanceof Advised advised) {
+            advised.addAdvice(tracingInterceptor(beanName));
+        }
+        return bean;
+    }
+
+    private static MethodInterceptor tracingInterceptor(String repository) {
+        return invocation -> {
+            String method = invocation.getMethod().getName();
+            RepositoryCallEvent event = new RepositoryCallEvent();
+            event.begin();
+            long start = System.nanoTime();
+            String outcome = "error";
+            try {
+                Object result = invocation.proceed();
+                outcome = "success";
+                return result;
+            } finally {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.setRepository(repository);
+                    event.setMethod(method);
+                    event.setOutcome(outcome);
+                    event.commit();
+                }
+                RequestTrace.record(repository + "." + method, start, "success".equals(outcome) ? null : outcome);
+            }
+        };
+    }
+}
@@ -0,0 +1,65 @@
+package com.babili.springbootsecurity.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Per-request list of completed stages (filter, service calls, repository calls), kept on the
+// request thread by RequestTraceFilter. Stages are recorded when they finish, so nested stages
+// appear before the stage that contains them. Recording is a no-op outside a traced request.
+public final class RequestTrace {
+    private static final int MAX_STAGES = 64;
+    private static final ThreadLocal<RequestTrace> CURRENT = new ThreadLocal<>();
+
+    private record Stage(String name, long durationNanos, String outcome) {
+    }
+
+    private final List<Stage> stages = new ArrayList<>();
+    private int dropped;
+
+    private RequestTrace() {
+    }
+
+    static RequestTrace start() {
+        RequestTrace trace = new RequestTrace();
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    static void finish() {
+        CURRENT.remove();
+    }
+
+    public static void record(String name, long startNanos, String outcome) {
+        RequestTrace trace = CURRENT.get();
+        if (trace == null) {
+            return;
+        }
+        if (trace.stages.size() == MAX_STAGES) {
+            trace.dropped++;
+            return;
+        }
+        trace.stages.add(new Stage(name, System.nanoTime() - startNanos, outcome));
+    }
+
+    int size() {
+        return stages.size() + dropped;
+    }
+
+    // e.g. "userRepository.findByEmail=1.20ms, login=812.41ms[success]"
+    String format() {
+        StringBuilder out = new StringBuilder();
+        for (Stage stage : stages) {
+            if (!out.isEmpty()) {
+                out.append(", ");
+            }
+            out.append(stage.name()).append('=').append(String.format("%.2fms", stage.durationNanos() / 1e6));
+            if (stage.outcome() != null) {
+                out.append('[').append(stage.outcome()).append(']');
+            }
+        }
+        if (dropped > 0) {
+            out.append(", ... ").append(dropped).append(" more");
+        }
+        return out.toString();
+    }
+}
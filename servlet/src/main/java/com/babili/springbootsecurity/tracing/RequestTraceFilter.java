@@ -0,0 +1,59 @@
+package com.babili.springbootsecurity.tracing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+// Outermost filter: collects the stages recorded while a request is served, emits them as a
+// JFR event and logs the breakdown of any request slower than the threshold
+public class RequestTraceFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(RequestTraceFilter.class);
+
+    private final boolean enabled;
+    private final long slowRequestThresholdNanos;
+
+    public RequestTraceFilter(boolean enabled, Duration slowRequestThreshold) {
+        this.enabled = enabled;
+        this.slowRequestThresholdNanos = slowRequestThreshold.toNanos();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        HttpRequestEvent event = new HttpRequestEvent();
+        event.begin();
+        long start = System.nanoTime();
+        RequestTrace trace = RequestTrace.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestTrace.finish();
+            long elapsedNanos = System.nanoTime() - start;
+            event.end();
+            if (event.shouldCommit()) {
+                event.setMethod(request.getMethod());
+                event.setUri(request.getRequestURI());
+                event.setStatus(response.getStatus());
+                event.setStages(trace.format());
+                event.commit();
+            }
+            if (elapsedNanos > slowRequestThresholdNanos && logger.isWarnEnabled()) {
+                logger.warn("Slow request {} {} took {} ms (status {}, {} stages): {}",
+                        request.getMethod(), request.getRequestURI(), elapsedNanos / 1_000_000,
+                        response.getStatus(), trace.size(), trace.format());
+            }
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.babili.springbootsecurity.util;
+
+import com.babili.springbootsecurity.entity.Role;
+import com.babili.springbootsecurity.security.UserPrincipal;
+import io.jsonwebtoken.*;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.time.Duration;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class JwtUtils {
+    private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
+    private static final RateLimitedLogger rejectionLog = new RateLimitedLogger(logger, Duration.ofSeconds(10));
+    
+    private static final String CLAIM_USER_ID = "uid";
+    private static final String CLAIM_ROLE = "role";
+    private static final String CLAIM_EMAIL_VERIFIED = "ev";
+    private static final String CLAIM_TWO_FACTOR_ENABLED = "tfa";
+    private static final String CLAIM_VERSION = "ver";
+    
+    @Value("${jwt.secret}")
+    private String jwtSecret;
+    
+    @Value("${jwt.expiration}")
+    private int jwtExpirationMs;
+    
+    @Value("${jwt.stateless-principal.enabled:false}")
+    private boolean statelessPrincipalEnabled;
+    
+    @Value("${jwt.stateless-principal.claims-version:1}")
+    private int claimsVersion;
+    
+    @Value("${jwt.stateless-principal.max-age-ms:900000}")
+    private long statelessPrincipalMaxAgeMs;
+    
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+    private JwtVerifier jwtVerifier;
+    
+    private final Timer signTimer;
+    private final Timer verifyTimer;
+    private final Map<JwtValidationResult.Status, Counter> rejectionCounters =
+            new EnumMap<>(JwtValidationResult.Status.class);
+    
+    public JwtUtils(MeterRegistry meterRegistry) {
+        for (JwtValidationResult.Status status : JwtValidationResult.Status.values()) {
+            if (status != JwtValidationResult.Status.VALID) {
+                rejectionCounters.put(status, Counter.builder("jwt.validation.failures")
+                        .tag("reason", status.reason())
+                        .description("Tokens rejected during verification")
+                        .register(meterRegistry));
+            }
+        }
+        this.signTimer = Timer.builder("jwt.processing")
+                .tag("operation", "sign")
+                .register(meterRegistry);
+        this.verifyTimer = Timer.builder("jwt.processing")
+                .tag("operation", "verify")
+                .register(meterRegistry);
+    }
+    
+    @PostConstruct
+    public void init() {
+        // Derive the key once; the parser is immutable and safe to share between threads
+        signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        jwtParser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        jwtVerifier = new JwtVerifier(signingKey);
+    }
+    
+    public String generateJwtToken(UserDetails userPrincipal) {
+        return signTimer.record(() -> buildJwtToken(userPrincipal));
+    }
+    
+    private String buildJwtToken(UserDetails userPrincipal) {
+        if (statelessPrincipalEnabled && userPrincipal instanceof UserPrincipal principal) {
+            return buildToken(principal.getUsername())
+                    .claim(CLAIM_USER_ID, principal.getId())
+                    .claim(CLAIM_ROLE, roleOf(principal))
+                    .claim(CLAIM_EMAIL_VERIFIED, principal.isEmailVerified())
+                    .claim(CLAIM_TWO_FACTOR_ENABLED, principal.isTwoFactorEnabled())
+                    .claim(CLAIM_VERSION, claimsVersion)
+                    .compact();
+        }
+        return buildToken(userPrincipal.getUsername()).compact();
+    }
+    
+    public String generateTokenFromUsername(String username) {
+        return signTimer.record(() -> buildToken(username).compact());
+    }
+    
+    private JwtBuilder buildToken(String username) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setSubject(username)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + jwtExpirationMs))
+                .signWith(signingKey, SignatureAlgorithm.HS512);
+    }
+    
+    public boolean isStatelessPrincipalEnabled() {
+        return statelessPrincipalEnabled;
+    }
+    
+    // Returns null when the token carries no usable identity claims (missing, written under
+    // another claims version or older than the max age); callers then load the user instead
+    public UserPrincipal getPrincipalFromClaims(Claims claims) {
+        if (!statelessPrincipalEnabled) {
+            return null;
+        }
+        
+        Integer version = claims.get(CLAIM_VERSION, Integer.class);
+        if (version == null || version != claimsVersion) {
+            return null;
+        }
+        
+        Date issuedAt = claims.getIssuedAt();
+        if (issuedAt == null || System.currentTimeMillis() - issuedAt.getTime() > statelessPrincipalMaxAgeMs) {
+            return null;
+        }
+        
+        Long userId = claims.get(CLAIM_USER_ID, Long.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        if (userId == null || role == null) {
+            return null;
+        }
+        
+        return new UserPrincipal(
+                userId,
+                claims.getSubject(),
+                null,
+                UserPrincipal.authoritiesFor(Role.valueOf(role)),
+                Boolean.TRUE.equals(claims.get(CLAIM_EMAIL_VERIFIED, Boolean.class)),
+                Boolean.TRUE.equals(claims.get(CLAIM_TWO_FACTOR_ENABLED, Boolean.class))
+        );
+    }
+    
+    private static String roleOf(UserPrincipal principal) {
+        return principal.getAuthorities().iterator().next().getAuthority().substring("ROLE_".length());
+    }
+    
+    public String getUserNameFromJwtToken(String token) {
+        return jwtParser
+                .parseClaimsJws(token)
+                .getBody()
+                .getSubject();
+    }
+    
+    // Never throws for a bad token; see JwtVerifier for how rejections avoid exceptions
+    public JwtValidationResult validate(String authToken) {
+        long start = System.nanoTime();
+        JwtValidationResult result = jwtVerifier.verify(authToken);
+        verifyTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        
+        if (!result.isValid()) {
+            rejectionCounters.get(result.status()).increment();
+            rejectionLog.warn(result.status().name(), "Rejected JWT: {}", result.status().reason());
+        }
+        return result;
+    }
+    
+    public Claims getClaimsFromJwtToken(String authToken) {
+        return validate(authToken).claims();
+    }
+    
+    public boolean validateJwtToken(String authToken) {
+        return validate(authToken).isValid();
+    }
+}
\ No newline at end of file
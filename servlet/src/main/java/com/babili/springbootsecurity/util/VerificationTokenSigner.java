@@ -0,0 +1,79 @@
+package com.babili.springbootsecurity.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+
+@Component
+public class VerificationTokenSigner {
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int PAYLOAD_LENGTH = 3 * Long.BYTES;
+    
+    private final SecretKeySpec key;
+    
+    public VerificationTokenSigner(@Value("${app.email-verification.signing-secret}") String secret) {
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+    }
+    
+    public record Payload(long userId, Instant expiresAt, long nonce) {
+    }
+    
+    // <base64url(userId | expiresAt | nonce)>.<base64url(HMAC-SHA256 of those bytes)>
+    public String sign(long userId, Instant expiresAt, long nonce) {
+        byte[] payload = ByteBuffer.allocate(PAYLOAD_LENGTH)
+                .putLong(userId)
+                .putLong(expiresAt.getEpochSecond())
+                .putLong(nonce)
+                .array();
+        
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(payload) + "." + encoder.encodeToString(mac(payload));
+    }
+    
+    // Returns null for anything that is malformed or not signed with our key
+    public Payload verify(String token) {
+        int separator = token.indexOf('.');
+        if (separator < 0) {
+            return null;
+        }
+        
+        byte[] payload;
+        byte[] signature;
+        try {
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            payload = decoder.decode(token.substring(0, separator));
+            signature = decoder.decode(token.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        
+        if (payload.length != PAYLOAD_LENGTH || !MessageDigest.isEqual(signature, mac(payload))) {
+            return null;
+        }
+        
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        return new Payload(buffer.getLong(), Instant.ofEpochSecond(buffer.getLong()), buffer.getLong());
+    }
+    
+    public static boolean isSignedToken(String token) {
+        return token.indexOf('.') >= 0;
+    }
+    
+    private byte[] mac(byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot compute verification token signature", e);
+        }
+    }
+}
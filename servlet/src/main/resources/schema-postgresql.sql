@@ -0,0 +1,3 @@
+-- Backs the case-insensitive email lookups in UserRepository and rejects emails differing only in case;
+-- JPA @Index cannot express an expression index
+CREATE UNIQUE INDEX IF NOT EXISTS idx_users_email_lower ON users (lower(email));
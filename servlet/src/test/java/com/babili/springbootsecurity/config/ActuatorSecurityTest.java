@@ -0,0 +1,51 @@
+package com.babili.springbootsecurity.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability(tracing = false) // metrics export is off in tests by default
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:actuatordb",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.sql.init.mode=never",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+public class ActuatorSecurityTest {
+    
+    @LocalServerPort
+    private int serverPort;
+    
+    @LocalManagementPort
+    private int managementPort;
+    
+    @Autowired
+    private TestRestTemplate restTemplate;
+    
+    @Test
+    public void testPrometheusIsOnlyOpenOnManagementPort() {
+        assertThat(managementPort).isNotEqualTo(serverPort);
+        
+        ResponseEntity<String> scrape = get(managementPort, "/actuator/prometheus");
+        assertThat(scrape.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(scrape.getBody()).contains("jwt_processing");
+        
+        assertThat(get(serverPort, "/actuator/prometheus").getStatusCode().is2xxSuccessful()).isFalse();
+        assertThat(get(managementPort, "/actuator/metrics").getStatusCode().is2xxSuccessful()).isFalse();
+    }
+    
+    private ResponseEntity<String> get(int port, String path) {
+        return restTemplate.getForEntity("http://localhost:" + port + path, String.class);
+    }
+}
@@ -0,0 +1,291 @@
+package com.babili.springbootsecurity.controller;
+
+import com.babili.springbootsecurity.dto.LoginRequest;
+import com.babili.springbootsecurity.dto.MessageResponse;
+import com.babili.springbootsecurity.dto.RegisterRequest;
+import com.babili.springbootsecurity.entity.Role;
+import com.babili.springbootsecurity.entity.EmailVerificationToken;
+import com.babili.springbootsecurity.entity.User;
+import com.babili.springbootsecurity.repository.EmailVerificationTokenRepository;
+import com.babili.springbootsecurity.repository.UserRepository;
+import com.babili.springbootsecurity.service.EmailService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:testdb",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.sql.init.mode=never",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Transactional
+public class AuthControllerTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private EmailVerificationTokenRepository tokenRepository;
+    
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @MockitoBean
+    private EmailService emailService;
+    
+    @Test
+    public void testUserRegistration() throws Exception {
+        RegisterRequest request = new RegisterRequest();
+        request.setEmail("test@example.com");
+        request.setPassword("password123");
+        request.setFirstName("Test");
+        request.setLastName("User");
+        
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("User registered successfully! Please check your email to verify your account."));
+        
+        assertThat(userRepository.existsByEmail("test@example.com")).isTrue();
+    }
+    
+    @Test
+    public void testUserRegistrationWithExistingEmail() throws Exception {
+        // Create a user first
+        User existingUser = User.builder()
+                .email("existing@example.com")
+                .password(passwordEncoder.encode("password123"))
+                .firstName("Existing")
+                .lastName("User")
+                .build();
+        userRepository.save(existingUser);
+        
+        RegisterRequest request = new RegisterRequest();
+        request.setEmail("existing@example.com");
+        request.setPassword("password123");
+        request.setFirstName("Test");
+        request.setLastName("User");
+        
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Email already exists"));
+    }
+    
+    @Test
+    public void testUserRegistrationWithInvalidData() throws Exception {
+        RegisterRequest request = new RegisterRequest();
+        request.setEmail("invalid-email");
+        request.setPassword("123"); // Too short
+        request.setFirstName("");
+        request.setLastName("");
+        
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    public void testResendVerificationRotatesPendingToken() throws Exception {
+        RegisterRequest request = new RegisterRequest("resend@example.com", "password123", "Resend", "User");
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+        String firstToken = tokenRepository.findAll().get(0).getToken();
+        
+        mockMvc.perform(post("/api/auth/resend-verification").param("email", "resend@example.com"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Verification email sent"));
+        
+        assertThat(tokenRepository.findAll())
+                .hasSize(1)
+                .extracting(EmailVerificationToken::getToken)
+                .doesNotContain(firstToken);
+    }
+    
+    @Test
+    public void testLogin() throws Exception {
+        saveUser("login@example.com", true, false);
+        
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginRequest("login@example.com", "password123", null))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").isNotEmpty())
+                .andExpect(jsonPath("$.email").value("login@example.com"));
+    }
+    
+    @Test
+    public void testLoginUpgradesLegacyPasswordHash() throws Exception {
+        User user = User.builder()
+                .email("legacy@example.com")
+                .password(new BCryptPasswordEncoder(4).encode("password123"))
+                .firstName("Legacy")
+                .lastName("User")
+                .emailVerified(true)
+                .role(Role.USER)
+                .build();
+        userRepository.save(user);
+        
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginRequest("legacy@example.com", "password123", null))))
+                .andExpect(status().isOk());
+        
+        String upgradedHash = userRepository.findByEmail("legacy@example.com").orElseThrow().getPassword();
+        assertThat(upgradedHash).startsWith("{bcrypt}");
+        assertThat(passwordEncoder.matches("password123", upgradedHash)).isTrue();
+    }
+    
+    @Test
+    public void testLoginIgnoresEmailCase() throws Exception {
+        saveUser("Mixed.Case@example.com", true, false);
+        
+        String response = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginRequest("mixed.case@EXAMPLE.com", "password123", null))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("Mixed.Case@example.com"))
+                .andReturn().getResponse().getContentAsString();
+        String token = objectMapper.readTree(response).get("token").asText();
+        
+        // The token filter loads the principal through the credentials projection;
+        // reaching the 2FA service rather than a 401 means it authenticated
+        mockMvc.perform(get("/api/auth/2fa/qr-code").header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Two-factor setup not initiated"));
+    }
+    
+    @Test
+    public void testQrCodeRevalidatesWithETag() throws Exception {
+        saveUser("qr-code@example.com", true, false);
+        String response = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginRequest("qr-code@example.com", "password123", null))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String token = objectMapper.readTree(response).get("token").asText();
+        
+        mockMvc.perform(post("/api/auth/2fa/setup").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        
+        String etag = mockMvc.perform(get("/api/auth/2fa/qr-code").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.IMAGE_PNG))
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+        
+        mockMvc.perform(get("/api/auth/2fa/qr-code")
+                .header("Authorization", "Bearer " + token)
+                .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+    
+    @Test
+    public void testLoginWithWrongPassword() throws Exception {
+        saveUser("wrong-password@example.com", true, false);
+        double failuresBefore = loginFailures("bad_credentials");
+        
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginRequest("wrong-password@example.com", "wrong", null))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Bad credentials"));
+        
+        assertThat(loginFailures("bad_credentials")).isEqualTo(failuresBefore + 1);
+    }
+    
+    @Test
+    public void testLoginWithUnverifiedEmail() throws Exception {
+        saveUser("unverified@example.com", false, false);
+        
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginRequest("unverified@example.com", "password123", null))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Please verify your email first"));
+    }
+    
+    @Test
+    public void testLoginRequiresTwoFactorCode() throws Exception {
+        saveUser("two-factor@example.com", true, true);
+        
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginRequest("two-factor@example.com", "password123", null))))
+                .andExpect(status().isPartialContent())
+                .andExpect(jsonPath("$.message").value("Two-factor authentication required"));
+    }
+    
+    @Test
+    public void testLoginIsRateLimitedPerEmail() throws Exception {
+        saveUser("throttled@example.com", true, false);
+        String body = objectMapper.writeValueAsString(new LoginRequest("throttled@example.com", "wrong", null));
+
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(post("/api/auth/login")
+                    .with(request -> { request.setRemoteAddr("10.0.0.15"); return request; })
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(body))
+                    .andExpect(status().isBadRequest());
+        }
+
+        mockMvc.perform(post("/api/auth/login")
+                .with(request -> { request.setRemoteAddr("10.0.0.15"); return request; })
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"));
+    }
+
+    private void saveUser(String email, boolean emailVerified, boolean twoFactorEnabled) {
+        User user = User.builder()
+                .email(email)
+                .password(passwordEncoder.encode("password123"))
+                .firstName("Test")
+                .lastName("User")
+                .emailVerified(emailVerified)
+                .twoFactorEnabled(twoFactorEnabled)
+                .twoFactorSecret(twoFactorEnabled ? "JBSWY3DPEHPK3PXP" : null)
+                .role(Role.USER)
+                .build();
+        userRepository.save(user);
+    }
+    
+    private double loginFailures(String reason) {
+        return meterRegistry.get("auth.login.failures").tag("reason", reason).counter().count();
+    }
+}
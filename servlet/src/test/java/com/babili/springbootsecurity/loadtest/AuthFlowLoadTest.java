@@ -0,0 +1,257 @@
+package com.babili.springbootsecurity.loadtest;
+
+import com.babili.springbootsecurity.SpringBootSecurityApplication;
+import com.babili.springbootsecurity.entity.Role;
+import com.babili.springbootsecurity.entity.User;
+import com.babili.springbootsecurity.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetup;
+import com.warrenstrange.googleauth.GoogleAuthenticator;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// End-to-end load test of the whole account life cycle against in-memory H2 and an
+// in-process GreenMail SMTP server. Sessions arrive at a fixed rate and are either
+//  - a new user: register, wait for the verification email, verify, log in, then for
+//    some of them enable 2FA and log in again with a code, then make authenticated calls; or
+//  - a returning (pre-seeded) user: log in and make authenticated calls.
+// Reports throughput and p50/p99/p999 per endpoint plus the SQL statements each endpoint
+// issues per request. Only runs under the loadtest profile:
+//   mvn -Ploadtest test -Dtest=AuthFlowLoadTest
+// Tunable with -Dloadtest.rate (sessions/s), -Dloadtest.duration, -Dloadtest.max-concurrency,
+// -Dloadtest.new-user-ratio, -Dloadtest.two-factor-ratio, -Dloadtest.calls-per-session,
+// -Dloadtest.users and -Dloadtest.bcrypt-strength.
+@Tag("loadtest")
+public class AuthFlowLoadTest {
+
+    private static final String PASSWORD = "password123";
+    private static final Pattern VERIFICATION_TOKEN = Pattern.compile("token=([A-Za-z0-9._~-]+)");
+    private static final long TIME_STEP_MS = 30_000;
+
+    private final double rate = Double.parseDouble(System.getProperty("loadtest.rate", "20"));
+    private final Duration duration = Duration.parse(System.getProperty("loadtest.duration", "PT30S"));
+    private final int maxConcurrency = Integer.getInteger("loadtest.max-concurrency", 200);
+    private final double newUserRatio = Double.parseDouble(System.getProperty("loadtest.new-user-ratio", "0.2"));
+    private final double twoFactorRatio = Double.parseDouble(System.getProperty("loadtest.two-factor-ratio", "0.3"));
+    private final int callsPerSession = Integer.getInteger("loadtest.calls-per-session", 4);
+    private final int users = Integer.getInteger("loadtest.users", 500);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final GoogleAuthenticator gAuth = new GoogleAuthenticator();
+
+    @Test
+    public void registerVerifyLoginAndCall() throws Exception {
+        GreenMail greenMail = new GreenMail(new ServerSetup(0, "localhost", ServerSetup.PROTOCOL_SMTP));
+        greenMail.start();
+        try (ConfigurableApplicationContext context = start(greenMail.getSmtp().getPort())) {
+            seedUsers(context);
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            LoadGenerator generator = new LoadGenerator(port);
+            LoadGenerator.Scenario scenario = (worker, iteration, recorder) -> session(greenMail, iteration, recorder);
+
+            generator.runAtRate(rate, Duration.ofSeconds(5), maxConcurrency, scenario);
+            StatementCounter.reset();
+            LoadGenerator.Report report = generator.runAtRate(rate, duration, maxConcurrency, scenario);
+
+            System.out.println();
+            System.out.println(report.format(String.format("auth flows (%.1f sessions/s, %s, %.0f%% new users)",
+                    rate, duration, newUserRatio * 100)));
+            System.out.println(statementsPerRequest(report));
+
+            assertThat(report.count("POST /api/auth/login")).isPositive();
+        } finally {
+            greenMail.stop();
+        }
+    }
+
+    private void session(GreenMail greenMail, long iteration, LoadGenerator.Recorder recorder) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String token;
+        String twoFactorSecret = null;
+        if (random.nextDouble() < newUserRatio) {
+            String email = "new-" + iteration + "-" + System.nanoTime() + "@example.com";
+            token = signUp(greenMail, email, recorder);
+            if (token == null) {
+                return;
+            }
+            if (random.nextDouble() < twoFactorRatio) {
+                twoFactorSecret = enableTwoFactor(email, token, recorder);
+                if (twoFactorSecret == null) {
+                    return;
+                }
+                token = login(email, codeFor(twoFactorSecret, 0), recorder);
+            } else {
+                HttpResponse<String> setup = recorder.post("POST /api/auth/2fa/setup", "/api/auth/2fa/setup", "", token);
+                if (setup == null || setup.statusCode() != 200) {
+                    return;
+                }
+            }
+        } else {
+            token = login("load-" + random.nextInt(users) + "@example.com", null, recorder);
+        }
+
+        if (token == null) {
+            return;
+        }
+        for (int i = 0; i < callsPerSession; i++) {
+            recorder.get("GET /api/auth/2fa/qr-code", "/api/auth/2fa/qr-code", token);
+        }
+    }
+
+    // register -> verification email -> verify-email -> login; returns the JWT
+    private String signUp(GreenMail greenMail, String email, LoadGenerator.Recorder recorder) throws Exception {
+        HttpResponse<String> register = recorder.post("POST /api/auth/register", "/api/auth/register",
+                objectMapper.writeValueAsString(Map.of(
+                        "email", email, "password", PASSWORD, "firstName", "Load", "lastName", "User")),
+                null);
+        if (register == null || register.statusCode() != 200) {
+            return null;
+        }
+
+        String verificationToken = recorder.time("(verification email)", () -> awaitVerificationToken(greenMail, email));
+        if (verificationToken == null) {
+            return null;
+        }
+        HttpResponse<String> verify = recorder.post("POST /api/auth/verify-email",
+                "/api/auth/verify-email?token=" + verificationToken, "", null);
+        if (verify == null || verify.statusCode() != 200) {
+            return null;
+        }
+        return login(email, null, recorder);
+    }
+
+    // setup -> verify-setup; returns the secret. The setup is confirmed with the previous
+    // step's code so the current step is still unused for the 2FA login that follows.
+    private String enableTwoFactor(String email, String token, LoadGenerator.Recorder recorder) throws Exception {
+        HttpResponse<String> setup = recorder.post("POST /api/auth/2fa/setup", "/api/auth/2fa/setup", "", token);
+        if (setup == null || setup.statusCode() != 200) {
+            return null;
+        }
+        String secret = objectMapper.readTree(setup.body()).get("secret").asText();
+        HttpResponse<String> verifySetup = recorder.post("POST /api/auth/2fa/verify-setup", "/api/auth/2fa/verify-setup",
+                "{\"code\":\"" + codeFor(secret, -1) + "\"}", token);
+        return verifySetup != null && verifySetup.statusCode() == 200 ? secret : null;
+    }
+
+    private String login(String email, String twoFactorCode, LoadGenerator.Recorder recorder) throws Exception {
+        Map<String, String> request = new HashMap<>(Map.of("email", email, "password", PASSWORD));
+        if (twoFactorCode != null) {
+            request.put("twoFactorCode", twoFactorCode);
+        }
+        HttpResponse<String> login = recorder.post("POST /api/auth/login", "/api/auth/login",
+                objectMapper.writeValueAsString(request), null);
+        if (login == null || login.statusCode() != 200) {
+            return null;
+        }
+        JsonNode body = objectMapper.readTree(login.body());
+        return body.get("token").asText();
+    }
+
+    private String codeFor(String secret, int stepOffset) {
+        return String.format("%06d", gAuth.getTotpPassword(secret, System.currentTimeMillis() + stepOffset * TIME_STEP_MS));
+    }
+
+    private static String awaitVerificationToken(GreenMail greenMail, String email) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while (System.nanoTime() < deadline) {
+            Optional<MimeMessage> message = greenMail.findReceivedMessages(
+                    user -> user.getEmail().equals(email), received -> true).findFirst();
+            if (message.isPresent()) {
+                Matcher matcher = VERIFICATION_TOKEN.matcher(GreenMailUtil.getBody(message.get()));
+                return matcher.find() ? matcher.group(1) : null;
+            }
+            Thread.sleep(20);
+        }
+        return null;
+    }
+
+    private static String statementsPerRequest(LoadGenerator.Report report) {
+        StringBuilder out = new StringBuilder("SQL statements per request\n");
+        out.append(String.format("%-32s %9s %11s%n", "operation", "requests", "statements"));
+        for (String operation : report.operations()) {
+            if (operation.startsWith("(")) {
+                continue;
+            }
+            long requests = report.count(operation);
+            out.append(String.format("%-32s %9d %11.2f%n", operation, requests,
+                    requests > 0 ? (double) StatementCounter.count(operation) / requests : 0));
+        }
+        out.append(String.format("%-32s %9s %11d (total)%n", StatementCounter.BACKGROUND, "",
+                StatementCounter.count(StatementCounter.BACKGROUND)));
+        return out.toString();
+    }
+
+    private ConfigurableApplicationContext start(int smtpPort) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.datasource.url", "jdbc:h2:mem:authflow;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        properties.put("spring.jpa.properties.hibernate.session_factory.statement_inspector", StatementCounter.class.getName());
+        properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        properties.put("spring.sql.init.mode", "never");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("spring.mail.host", "localhost");
+        properties.put("spring.mail.port", smtpPort);
+        properties.put("spring.mail.username", "");
+        properties.put("spring.mail.password", "");
+        properties.put("spring.mail.properties.mail.smtp.auth", false);
+        properties.put("spring.mail.properties.mail.smtp.starttls.enable", false);
+        properties.put("server.port", 0);
+        properties.put("management.server.port", 0);
+        properties.put("logging.level.root", "WARN");
+        // Every session comes from 127.0.0.1, so the per-IP limits would only measure themselves
+        properties.put("app.rate-limit.enabled", false);
+        properties.put("app.concurrency-limit.enabled", false);
+        properties.put("app.password-hashing.calibration.enabled", false);
+        properties.put("app.password-hashing.strength", Integer.getInteger("loadtest.bcrypt-strength", 10));
+        properties.put("app.email-outbox.initial-delay", "0s");
+        properties.put("app.email-outbox.poll-interval", "100ms");
+        properties.put("app.email-verification.sweeper.enabled", false);
+        properties.put("app.email-outbox.sweeper.enabled", false);
+
+        // Passed as command-line arguments so they take precedence over application.yml
+        String[] args = properties.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(SpringBootSecurityApplication.class).run(args);
+    }
+
+    private void seedUsers(ConfigurableApplicationContext context) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        String passwordHash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+
+        List<User> seeded = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            seeded.add(User.builder()
+                    .email("load-" + i + "@example.com")
+                    .password(passwordHash)
+                    .firstName("Load")
+                    .lastName("User")
+                    .emailVerified(true)
+                    .twoFactorSecret(gAuth.createCredentials().getKey())
+                    .role(Role.USER)
+                    .build());
+        }
+        userRepository.saveAll(seeded);
+    }
+}
@@ -0,0 +1,255 @@
+package com.babili.springbootsecurity.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.LockSupport;
+
+// HTTP load generator with two models. run() is closed-loop: a fixed number of workers
+// repeat a scenario until the duration is up. runAtRate() is open-loop: scenarios start
+// on a fixed schedule whether or not earlier ones have finished, so a slow server shows
+// up as growing latency and start lag rather than as a quietly lower request rate.
+// Every worker records into its own Recorder so workers never contend.
+public class LoadGenerator {
+
+    public interface Scenario {
+        void run(int worker, long iteration, Recorder recorder) throws Exception;
+    }
+
+    public interface Step<T> {
+        T call() throws Exception;
+    }
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+
+    public LoadGenerator(int port) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.baseUrl = "http://localhost:" + port;
+    }
+
+    public Report run(int concurrency, Duration warmup, Duration duration, Scenario scenario) throws Exception {
+        drive(concurrency, warmup, scenario);
+        return drive(concurrency, duration, scenario);
+    }
+
+    private Report drive(int concurrency, Duration duration, Scenario scenario) throws Exception {
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        try {
+            List<Future<Recorder>> futures = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                int worker = i;
+                futures.add(workers.submit(() -> {
+                    Recorder recorder = new Recorder();
+                    for (long iteration = 0; System.nanoTime() < deadline; iteration++) {
+                        scenario.run(worker, iteration, recorder);
+                    }
+                    return recorder;
+                }));
+            }
+
+            Report report = new Report();
+            for (Future<Recorder> future : futures) {
+                report.merge(future.get());
+            }
+            report.elapsedNanos = System.nanoTime() - start;
+            return report;
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    // Starts sessionsPerSecond scenarios per second for the duration, on at most maxConcurrency
+    // threads; a scenario that cannot start on time waits, and the wait is reported as start lag
+    public Report runAtRate(double sessionsPerSecond, Duration duration, int maxConcurrency,
+                            Scenario scenario) throws Exception {
+        ExecutorService workers = Executors.newFixedThreadPool(maxConcurrency);
+        Queue<Recorder> recorders = new ConcurrentLinkedQueue<>();
+        ThreadLocal<Recorder> workerRecorder = ThreadLocal.withInitial(() -> {
+            Recorder recorder = new Recorder();
+            recorders.add(recorder);
+            return recorder;
+        });
+
+        long intervalNanos = (long) (1e9 / sessionsPerSecond);
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (long session = 0; start + session * intervalNanos < deadline; session++) {
+                long scheduled = start + session * intervalNanos;
+                long wait;
+                while ((wait = scheduled - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                long iteration = session;
+                futures.add(workers.submit((Callable<Void>) () -> {
+                    Recorder recorder = workerRecorder.get();
+                    recorder.startLag.add(System.nanoTime() - scheduled, false);
+                    scenario.run(0, iteration, recorder);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+
+            Report report = new Report();
+            recorders.forEach(report::merge);
+            report.elapsedNanos = System.nanoTime() - start;
+            report.targetRate = sessionsPerSecond;
+            return report;
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    public final class Recorder {
+        private final Map<String, Samples> samples = new LinkedHashMap<>();
+        private final Samples startLag = new Samples();
+
+        public HttpResponse<String> post(String operation, String path, String json, String bearerToken) {
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(json));
+            return send(operation, withBearer(request, bearerToken));
+        }
+
+        public HttpResponse<String> get(String operation, String path, String bearerToken) {
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(Duration.ofSeconds(30))
+                    .GET();
+            return send(operation, withBearer(request, bearerToken));
+        }
+
+        // Times a step that is not a single HTTP call, e.g. waiting for an email to arrive;
+        // an exception counts as an error and yields null
+        public <T> T time(String operation, Step<T> step) {
+            Samples operationSamples = samples.computeIfAbsent(operation, name -> new Samples());
+            long start = System.nanoTime();
+            try {
+                T result = step.call();
+                operationSamples.add(System.nanoTime() - start, result == null);
+                return result;
+            } catch (Exception e) {
+                operationSamples.add(System.nanoTime() - start, true);
+                return null;
+            }
+        }
+
+        private HttpRequest.Builder withBearer(HttpRequest.Builder request, String bearerToken) {
+            return bearerToken != null ? request.header("Authorization", "Bearer " + bearerToken) : request;
+        }
+
+        private HttpResponse<String> send(String operation, HttpRequest.Builder request) {
+            Samples operationSamples = samples.computeIfAbsent(operation, name -> new Samples());
+            long start = System.nanoTime();
+            try {
+                HttpResponse<String> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+                operationSamples.add(System.nanoTime() - start, response.statusCode() >= 400);
+                return response;
+            } catch (Exception e) {
+                operationSamples.add(System.nanoTime() - start, true);
+                return null;
+            }
+        }
+    }
+
+    public static final class Report {
+        private final Map<String, Samples> samples = new LinkedHashMap<>();
+        private final Samples startLag = new Samples();
+        private long elapsedNanos;
+        private double targetRate;
+
+        private void merge(Recorder recorder) {
+            recorder.samples.forEach((operation, operationSamples) ->
+                    samples.computeIfAbsent(operation, name -> new Samples()).addAll(operationSamples));
+            startLag.addAll(recorder.startLag);
+        }
+
+        public Iterable<String> operations() {
+            return samples.keySet();
+        }
+
+        public long count(String operation) {
+            Samples operationSamples = samples.get(operation);
+            return operationSamples != null ? operationSamples.size : 0;
+        }
+
+        public String format(String title) {
+            StringBuilder out = new StringBuilder(title).append('\n');
+            double seconds = elapsedNanos / 1e9;
+            if (targetRate > 0) {
+                long[] lag = startLag.sorted();
+                out.append(String.format("sessions: target %.1f/s, started %.1f/s, start lag p50 %.2f ms, p99 %.2f ms%n",
+                        targetRate, lag.length / seconds, percentile(lag, 0.50), percentile(lag, 0.99)));
+            }
+            out.append(String.format("%-32s %9s %9s %7s %9s %9s %9s %9s%n",
+                    "operation", "requests", "req/s", "errors", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+            samples.forEach((operation, operationSamples) -> {
+                long[] sorted = operationSamples.sorted();
+                out.append(String.format("%-32s %9d %9.1f %7d %9.2f %9.2f %9.2f %9.2f%n",
+                        operation, sorted.length, sorted.length / seconds, operationSamples.errors,
+                        percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                        sorted.length > 0 ? sorted[sorted.length - 1] / 1e6 : 0));
+            });
+            return out.toString();
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+
+    private static final class Samples {
+        private long[] latencies = new long[1024];
+        private int size;
+        private long errors;
+
+        private void add(long latencyNanos, boolean error) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = latencyNanos;
+            if (error) {
+                errors++;
+            }
+        }
+
+        private void addAll(Samples other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.latencies[i], false);
+            }
+            errors += other.errors;
+        }
+
+        private long[] sorted() {
+            long[] copy = Arrays.copyOf(latencies, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.babili.springbootsecurity.loadtest;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Counts the SQL statements Hibernate prepares, keyed by the HTTP request they ran for
+// ("POST /api/auth/login"); statements outside a request, such as the outbox dispatcher,
+// are counted under BACKGROUND. Installed with
+// spring.jpa.properties.hibernate.session_factory.statement_inspector.
+public class StatementCounter implements StatementInspector {
+    public static final String BACKGROUND = "(background)";
+
+    private static final Map<String, LongAdder> COUNTS = new ConcurrentHashMap<>();
+
+    @Override
+    public String inspect(String sql) {
+        COUNTS.computeIfAbsent(currentRequest(), key -> new LongAdder()).increment();
+        return sql;
+    }
+
+    private static String currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            HttpServletRequest request = servletAttributes.getRequest();
+            return request.getMethod() + " " + request.getRequestURI();
+        }
+        return BACKGROUND;
+    }
+
+    public static long count(String operation) {
+        LongAdder count = COUNTS.get(operation);
+        return count != null ? count.sum() : 0;
+    }
+
+    public static void reset() {
+        COUNTS.clear();
+    }
+}
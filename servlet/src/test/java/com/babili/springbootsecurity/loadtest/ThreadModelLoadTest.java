@@ -0,0 +1,136 @@
+package com.babili.springbootsecurity.loadtest;
+
+import com.babili.springbootsecurity.SpringBootSecurityApplication;
+import com.babili.springbootsecurity.entity.Role;
+import com.babili.springbootsecurity.entity.User;
+import com.babili.springbootsecurity.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.warrenstrange.googleauth.GoogleAuthenticator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Side-by-side comparison of Tomcat's platform-thread pool and virtual threads under the
+// same login + authenticated-call mix. Only runs under the loadtest profile:
+//   mvn -Pjava21,loadtest test -Dtest=ThreadModelLoadTest
+// Tunable with -Dloadtest.concurrency, -Dloadtest.duration, -Dloadtest.users,
+// -Dloadtest.bcrypt-strength, -Dloadtest.pool-size and -Dloadtest.datasource.url
+// (with .username/.password) to run against PostgreSQL instead of in-memory H2.
+@Tag("loadtest")
+public class ThreadModelLoadTest {
+
+    private static final String PASSWORD = "password123";
+
+    private final int concurrency = Integer.getInteger("loadtest.concurrency", 200);
+    private final Duration duration = Duration.parse(System.getProperty("loadtest.duration", "PT30S"));
+    private final int users = Integer.getInteger("loadtest.users", 500);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void comparePlatformAndVirtualThreads() throws Exception {
+        List<String> reports = new ArrayList<>();
+        reports.add(runMode("platform threads", false));
+        if (Runtime.version().feature() >= 21) {
+            reports.add(runMode("virtual threads", true));
+        } else {
+            reports.add("virtual threads: skipped, running on Java " + Runtime.version().feature()
+                    + " (build and run with -Pjava21)\n");
+        }
+
+        System.out.println();
+        reports.forEach(System.out::println);
+    }
+
+    private String runMode(String title, boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = start(virtualThreads)) {
+            seedUsers(context);
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+
+            LoadGenerator.Report report = new LoadGenerator(port).run(concurrency, Duration.ofSeconds(5), duration,
+                    (worker, iteration, recorder) -> {
+                        String email = "load-" + ((worker + iteration * concurrency) % users) + "@example.com";
+                        HttpResponse<String> login = recorder.post("POST /login", "/api/auth/login",
+                                "{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}", null);
+                        if (login == null || login.statusCode() != 200) {
+                            return;
+                        }
+                        String token = objectMapper.readTree(login.body()).get("token").asText();
+                        for (int i = 0; i < 4; i++) {
+                            recorder.get("GET /2fa/qr-code", "/api/auth/2fa/qr-code", token);
+                        }
+                    });
+
+            assertThat(report.count("POST /login")).isPositive();
+            return report.format(String.format("%s (%d workers, %s)", title, concurrency, duration));
+        }
+    }
+
+    private ConfigurableApplicationContext start(boolean virtualThreads) {
+        Map<String, Object> properties = new HashMap<>();
+        String datasourceUrl = System.getProperty("loadtest.datasource.url");
+        if (datasourceUrl != null) {
+            properties.put("spring.datasource.url", datasourceUrl);
+            properties.put("spring.datasource.username", System.getProperty("loadtest.datasource.username", "postgres"));
+            properties.put("spring.datasource.password", System.getProperty("loadtest.datasource.password", ""));
+        } else {
+            properties.put("spring.datasource.url", "jdbc:h2:mem:loadtest-" + virtualThreads + ";DB_CLOSE_DELAY=-1");
+            properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+            properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        }
+        properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        properties.put("spring.sql.init.mode", "never");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("spring.datasource.hikari.maximum-pool-size", Integer.getInteger("loadtest.pool-size", 20));
+        properties.put("server.port", 0);
+        properties.put("management.server.port", 0);
+        properties.put("logging.level.root", "WARN");
+        // Measure the thread model itself, not the protective limits in front of it
+        properties.put("app.rate-limit.enabled", false);
+        properties.put("app.concurrency-limit.enabled", false);
+        properties.put("app.password-hashing.calibration.enabled", false);
+        properties.put("app.password-hashing.strength", Integer.getInteger("loadtest.bcrypt-strength", 10));
+        properties.put("app.email-outbox.initial-delay", "1h");
+        properties.put("app.email-verification.sweeper.enabled", false);
+        properties.put("app.email-outbox.sweeper.enabled", false);
+
+        // Passed as command-line arguments so they take precedence over application.yml
+        String[] args = properties.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(SpringBootSecurityApplication.class)
+                .profiles(virtualThreads ? new String[]{"virtual-threads"} : new String[0])
+                .run(args);
+    }
+
+    private void seedUsers(ConfigurableApplicationContext context) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        String passwordHash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+        GoogleAuthenticator gAuth = new GoogleAuthenticator();
+
+        List<User> seeded = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            seeded.add(User.builder()
+                    .email("load-" + i + "@example.com")
+                    .password(passwordHash)
+                    .firstName("Load")
+                    .lastName("User")
+                    .emailVerified(true)
+                    .twoFactorSecret(gAuth.createCredentials().getKey())
+                    .role(Role.USER)
+                    .build());
+        }
+        userRepository.saveAll(seeded);
+    }
+}
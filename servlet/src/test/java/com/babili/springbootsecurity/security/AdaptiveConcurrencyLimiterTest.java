@@ -0,0 +1,101 @@
+package com.babili.springbootsecurity.security;
+
+import com.babili.springbootsecurity.security.AdaptiveConcurrencyLimiter.Sample;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AdaptiveConcurrencyLimiterTest {
+    private static final long MS = 1_000_000;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AdaptiveConcurrencyLimiter limiter =
+            new AdaptiveConcurrencyLimiter(4, 2, 10, 2.0, 0.5, "test", meterRegistry);
+
+    @Test
+    public void testRejectsRequestsOverTheLimit() {
+        for (int i = 0; i < 4; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(meterRegistry.get("concurrency.rejected").tag("name", "test").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("concurrency.inflight").gauge().value()).isEqualTo(4);
+    }
+
+    @Test
+    public void testGrowsWhileLatencyStaysNearBaseline() {
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire();
+        }
+        for (int i = 0; i < 4; i++) {
+            limiter.release(i * MS, MS, Sample.MEASURED);
+        }
+
+        assertThat(limiter.getLimit()).isGreaterThan(4);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    public void testBacksOffOnSlowOrDroppedRequests() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 2, 10, 2.0, 0.5, "backoff", meterRegistry);
+        limiter.tryAcquire();
+        limiter.release(0, MS, Sample.MEASURED);
+
+        limiter.tryAcquire();
+        limiter.release(10 * MS, 10 * MS, Sample.MEASURED);
+        assertThat(limiter.getLimit()).isEqualTo(4);
+
+        limiter.tryAcquire();
+        limiter.release(30 * MS, MS, Sample.DROPPED);
+        assertThat(limiter.getLimit()).isEqualTo(2);
+        assertThat(meterRegistry.get("concurrency.limit").tag("name", "backoff").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    public void testBacksOffOncePerStall() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 2, 10, 2.0, 0.5, "stall", meterRegistry);
+        limiter.tryAcquire();
+        limiter.release(0, 10 * MS, Sample.MEASURED);
+
+        // Eight requests caught by the same pause all finish slow at once
+        for (int i = 0; i < 8; i++) {
+            limiter.tryAcquire();
+        }
+        for (int i = 0; i < 8; i++) {
+            limiter.release(100 * MS + i, 500 * MS, Sample.MEASURED);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(4);
+
+        // A request started after that cut is a new signal
+        limiter.tryAcquire();
+        limiter.release(700 * MS, 500 * MS, Sample.MEASURED);
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    public void testFastUnmeasuredTrafficDoesNotShedHashingRequests() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 2, 50, 2.0, 0.9, "mixed", meterRegistry);
+        long now = 0;
+        // Credential stuffing: mostly 429s and unknown users answered in well under a millisecond,
+        // interleaved with real logins that hash a password for ~250ms
+        for (int round = 0; round < 200; round++) {
+            for (int i = 0; i < 20; i++) {
+                assertThat(limiter.tryAcquire()).isTrue();
+                limiter.release(now, MS / 10, Sample.UNMEASURED);
+                now += MS / 10;
+            }
+            for (int i = 0; i < 4; i++) {
+                limiter.tryAcquire();
+            }
+            for (int i = 0; i < 4; i++) {
+                limiter.release(now, 250 * MS + i * MS, Sample.MEASURED);
+            }
+            now += 260 * MS;
+        }
+
+        assertThat(limiter.getLimit()).isGreaterThanOrEqualTo(8);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+}
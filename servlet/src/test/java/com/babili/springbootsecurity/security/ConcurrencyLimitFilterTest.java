@@ -0,0 +1,69 @@
+package com.babili.springbootsecurity.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConcurrencyLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AdaptiveConcurrencyLimiter limiter =
+            new AdaptiveConcurrencyLimiter(8, 2, 10, 2.0, 0.5, "auth", meterRegistry);
+    private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limiter, true, 1);
+    private final BoundedPasswordEncoder passwordEncoder =
+            new BoundedPasswordEncoder(NoOpPasswordEncoder.getInstance(), 1, 10, 1, meterRegistry);
+
+    @AfterEach
+    public void tearDown() {
+        passwordEncoder.shutdown();
+    }
+
+    @Test
+    public void testOnlyRequestsThatHashDriveTheLimit() throws Exception {
+        login(hashing(5));
+
+        // Slow but no hashing, e.g. stuck behind a slow rate-limit or user lookup
+        login((request, response) -> {
+            sleep(100);
+            ((HttpServletResponse) response).setStatus(429);
+        });
+        assertThat(limiter.getLimit()).isEqualTo(8);
+
+        login(hashing(100));
+        assertThat(limiter.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    public void testRequestsShedDownstreamBackOff() throws Exception {
+        login((request, response) -> ((HttpServletResponse) response).setStatus(503));
+
+        assertThat(limiter.getLimit()).isEqualTo(4);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    private FilterChain hashing(long millis) {
+        return (request, response) -> {
+            sleep(millis);
+            passwordEncoder.matches("password", "password");
+        };
+    }
+
+    private void login(FilterChain chain) throws Exception {
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/auth/login"), new MockHttpServletResponse(), chain);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
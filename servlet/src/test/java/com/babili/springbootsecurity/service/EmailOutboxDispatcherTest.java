@@ -0,0 +1,145 @@
+package com.babili.springbootsecurity.service;
+
+import com.babili.springbootsecurity.dto.RegisterRequest;
+import com.babili.springbootsecurity.entity.EmailOutboxMessage;
+import com.babili.springbootsecurity.entity.EmailOutboxStatus;
+import com.babili.springbootsecurity.repository.EmailOutboxRepository;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:outboxdb",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.sql.init.mode=never",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.mail.host=localhost",
+    "spring.mail.port=3025",
+    "spring.mail.username=",
+    "spring.mail.password=",
+    "spring.mail.properties.mail.smtp.auth=false",
+    "spring.mail.properties.mail.smtp.starttls.enable=false",
+    "app.email-outbox.initial-delay=1h",
+    "app.email-outbox.max-attempts=2",
+    "app.email-outbox.sweeper.initial-delay=1h"
+})
+@Transactional
+public class EmailOutboxDispatcherTest {
+    
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+    
+    @Autowired
+    private RegistrationService registrationService;
+    
+    @Autowired
+    private EmailOutboxDispatcher dispatcher;
+    
+    @Autowired
+    private EmailOutboxSweeper sweeper;
+    
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+    
+    @Test
+    public void testRegistrationQueuesEmailAndDispatcherDeliversIt() throws Exception {
+        registrationService.registerUser(new RegisterRequest("outbox@example.com", "password123", "Outbox", "User"));
+        
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+        assertThat(outboxRepository.findAll())
+                .extracting(EmailOutboxMessage::getStatus)
+                .containsExactly(EmailOutboxStatus.PENDING);
+        
+        dispatcher.dispatch();
+        
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(1);
+        assertThat(received[0].getAllRecipients()[0].toString()).isEqualTo("outbox@example.com");
+        assertThat(outboxRepository.findAll())
+                .extracting(EmailOutboxMessage::getStatus)
+                .containsExactly(EmailOutboxStatus.SENT);
+    }
+    
+    @Test
+    public void testFailedDeliveryIsRetriedLater() {
+        registrationService.registerUser(new RegisterRequest("retry@example.com", "password123", "Retry", "User"));
+        greenMail.stop();
+        
+        dispatcher.dispatch();
+        
+        List<EmailOutboxMessage> messages = outboxRepository.findAll();
+        assertThat(messages).hasSize(1);
+        assertThat(messages.get(0).getStatus()).isEqualTo(EmailOutboxStatus.PENDING);
+        assertThat(messages.get(0).getAttempts()).isEqualTo(1);
+        assertThat(messages.get(0).getNextAttemptAt()).isAfter(LocalDateTime.now());
+    }
+    
+    @Test
+    public void testMessageIsDeadAfterMaxAttempts() {
+        EmailOutboxMessage message = outboxRepository.save(message("dead@example.com", EmailOutboxStatus.PENDING, 1,
+                LocalDateTime.now().minusSeconds(1), null));
+        greenMail.stop();
+        
+        dispatcher.dispatch();
+        
+        EmailOutboxMessage dead = outboxRepository.findById(message.getId()).orElseThrow();
+        assertThat(dead.getStatus()).isEqualTo(EmailOutboxStatus.DEAD);
+        assertThat(dead.getAttempts()).isEqualTo(2);
+        assertThat(dead.getLastError()).isNotBlank();
+    }
+    
+    @Test
+    public void testExpiredClaimIsDispatchedAgain() {
+        EmailOutboxMessage abandoned = outboxRepository.save(message("abandoned@example.com", EmailOutboxStatus.SENDING, 0,
+                LocalDateTime.now().minusSeconds(1), null));
+        EmailOutboxMessage inFlight = outboxRepository.save(message("in-flight@example.com", EmailOutboxStatus.SENDING, 0,
+                LocalDateTime.now().plusMinutes(5), null));
+        
+        dispatcher.dispatch();
+        
+        assertThat(greenMail.getReceivedMessages()).hasSize(1);
+        assertThat(outboxRepository.findById(abandoned.getId()).orElseThrow().getStatus()).isEqualTo(EmailOutboxStatus.SENT);
+        assertThat(outboxRepository.findById(inFlight.getId()).orElseThrow().getStatus()).isEqualTo(EmailOutboxStatus.SENDING);
+    }
+    
+    @Test
+    public void testSweeperPurgesOnlySentMessagesPastRetention() {
+        LocalDateTime longAgo = LocalDateTime.now().minusDays(30);
+        outboxRepository.save(message("old@example.com", EmailOutboxStatus.SENT, 1, longAgo, longAgo));
+        EmailOutboxMessage recent = outboxRepository.save(message("recent@example.com", EmailOutboxStatus.SENT, 1,
+                LocalDateTime.now(), LocalDateTime.now()));
+        EmailOutboxMessage dead = outboxRepository.save(message("dead@example.com", EmailOutboxStatus.DEAD, 2, longAgo, null));
+        
+        sweeper.purgeSentMessages();
+        
+        assertThat(outboxRepository.findAll())
+                .extracting(EmailOutboxMessage::getId)
+                .containsExactlyInAnyOrder(recent.getId(), dead.getId());
+    }
+    
+    private static EmailOutboxMessage message(String recipient, EmailOutboxStatus status, int attempts,
+                                              LocalDateTime nextAttemptAt, LocalDateTime sentAt) {
+        return EmailOutboxMessage.builder()
+                .recipient(recipient)
+                .subject("Subject")
+                .body("Body")
+                .status(status)
+                .attempts(attempts)
+                .nextAttemptAt(nextAttemptAt)
+                .sentAt(sentAt)
+                .build();
+    }
+}
@@ -0,0 +1,118 @@
+package com.babili.springbootsecurity.service;
+
+import com.babili.springbootsecurity.entity.EmailVerificationToken;
+import com.babili.springbootsecurity.entity.Role;
+import com.babili.springbootsecurity.entity.User;
+import com.babili.springbootsecurity.repository.EmailVerificationTokenRepository;
+import com.babili.springbootsecurity.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:verificationdb",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.sql.init.mode=never",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+public class EmailVerificationServiceTest {
+    
+    @Autowired
+    private EmailVerificationService emailVerificationService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private EmailVerificationTokenRepository tokenRepository;
+    
+    @AfterEach
+    public void cleanUp() {
+        tokenRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+    
+    @Test
+    public void testVerifyTokenMarksUserVerifiedAndConsumesToken() {
+        User user = saveUserWithToken("verify@example.com", "valid-token", LocalDateTime.now().plusHours(1));
+        
+        assertThat(emailVerificationService.verifyToken("valid-token")).isTrue();
+        assertThat(emailVerificationService.verifyToken("valid-token")).isFalse();
+        
+        assertThat(userRepository.findById(user.getId()).orElseThrow().isEmailVerified()).isTrue();
+        assertThat(tokenRepository.count()).isZero();
+    }
+    
+    @Test
+    public void testExpiredTokenIsRejectedAndRemoved() {
+        User user = saveUserWithToken("expired@example.com", "expired-token", LocalDateTime.now().minusMinutes(1));
+        
+        assertThat(emailVerificationService.verifyToken("expired-token")).isFalse();
+        
+        assertThat(userRepository.findById(user.getId()).orElseThrow().isEmailVerified()).isFalse();
+        assertThat(tokenRepository.count()).isZero();
+    }
+    
+    @Test
+    public void testConcurrentClicksOnSameLinkSucceedExactlyOnce() throws Exception {
+        saveUserWithToken("concurrent@example.com", "concurrent-token", LocalDateTime.now().plusHours(1));
+        
+        int clicks = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(clicks);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        Callable<Boolean> click = () -> {
+            start.await();
+            try {
+                return emailVerificationService.verifyToken("concurrent-token");
+            } catch (RuntimeException e) {
+                return false;
+            }
+        };
+        for (int i = 0; i < clicks; i++) {
+            results.add(executor.submit(click));
+        }
+        start.countDown();
+        
+        int successes = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get()) {
+                successes++;
+            }
+        }
+        executor.shutdown();
+        
+        assertThat(successes).isEqualTo(1);
+    }
+    
+    private User saveUserWithToken(String email, String token, LocalDateTime expiresAt) {
+        User user = userRepository.save(User.builder()
+                .email(email)
+                .password("hash")
+                .firstName("Test")
+                .lastName("User")
+                .role(Role.USER)
+                .build());
+        tokenRepository.save(EmailVerificationToken.builder()
+                .token(token)
+                .user(user)
+                .expiresAt(expiresAt)
+                .build());
+        return user;
+    }
+}
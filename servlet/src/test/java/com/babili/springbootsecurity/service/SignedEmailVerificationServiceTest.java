@@ -0,0 +1,98 @@
+package com.babili.springbootsecurity.service;
+
+import com.babili.springbootsecurity.entity.Role;
+import com.babili.springbootsecurity.entity.User;
+import com.babili.springbootsecurity.repository.EmailVerificationTokenRepository;
+import com.babili.springbootsecurity.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:signedverificationdb",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.sql.init.mode=never",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "app.email-verification.mode=signed"
+})
+public class SignedEmailVerificationServiceTest {
+    
+    @Autowired
+    private EmailVerificationService emailVerificationService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private EmailVerificationTokenRepository tokenRepository;
+    
+    @MockitoBean
+    private EmailService emailService;
+    
+    @AfterEach
+    public void cleanUp() {
+        userRepository.deleteAll();
+    }
+    
+    @Test
+    public void testSignedLinkVerifiesOnceWithoutStoringATokenRow() {
+        User user = saveUser("signed@example.com");
+        
+        String token = issueToken(user, 1);
+        
+        assertThat(tokenRepository.count()).isZero();
+        assertThat(emailVerificationService.verifyToken(token)).isTrue();
+        assertThat(emailVerificationService.verifyToken(token)).isFalse();
+        assertThat(userRepository.findById(user.getId()).orElseThrow().isEmailVerified()).isTrue();
+    }
+    
+    @Test
+    public void testResendRevokesEarlierLinks() {
+        User user = saveUser("resend-signed@example.com");
+        
+        String firstToken = issueToken(user, 1);
+        String secondToken = issueToken(user, 2);
+        
+        assertThat(emailVerificationService.verifyToken(firstToken)).isFalse();
+        assertThat(emailVerificationService.verifyToken(secondToken)).isTrue();
+    }
+    
+    @Test
+    public void testTamperedLinkIsRejected() {
+        User user = saveUser("tampered@example.com");
+        
+        String token = issueToken(user, 1);
+        String tampered = (token.charAt(0) == 'A' ? 'B' : 'A') + token.substring(1);
+        
+        assertThat(emailVerificationService.verifyToken(tampered)).isFalse();
+        assertThat(userRepository.findById(user.getId()).orElseThrow().isEmailVerified()).isFalse();
+    }
+    
+    private String issueToken(User user, int issuedSoFar) {
+        emailVerificationService.createVerificationToken(user);
+        ArgumentCaptor<String> token = ArgumentCaptor.forClass(String.class);
+        verify(emailService, times(issuedSoFar)).queueVerificationEmail(any(), token.capture());
+        return token.getValue();
+    }
+    
+    private User saveUser(String email) {
+        return userRepository.save(User.builder()
+                .email(email)
+                .password("hash")
+                .firstName("Test")
+                .lastName("User")
+                .role(Role.USER)
+                .build());
+    }
+}
@@ -0,0 +1,50 @@
+package com.babili.springbootsecurity.tracing;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RequestTraceFilterTest {
+
+    @Test
+    public void testRequestEventCarriesRecordedStages() throws Exception {
+        RequestTraceFilter filter = new RequestTraceFilter(true, Duration.ofSeconds(1));
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        Path dump = Files.createTempFile("request-trace", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(HttpRequestEvent.class);
+            recording.start();
+            filter.doFilter(request, response, (req, res) -> {
+                long start = System.nanoTime();
+                RequestTrace.record("userRepository.findByEmail", start, null);
+                RequestTrace.record("login", start, "bad_credentials");
+                ((MockHttpServletResponse) res).setStatus(400);
+            });
+            recording.stop();
+            recording.dump(dump);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+            assertThat(events).hasSize(1);
+            RecordedEvent event = events.get(0);
+            assertThat(event.getString("method")).isEqualTo("POST");
+            assertThat(event.getString("uri")).isEqualTo("/api/auth/login");
+            assertThat(event.getInt("status")).isEqualTo(400);
+            assertThat(event.getString("stages"))
+                    .matches("userRepository\\.findByEmail=[0-9.]+ms, login=[0-9.]+ms\\[bad_credentials]");
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+    }
+}
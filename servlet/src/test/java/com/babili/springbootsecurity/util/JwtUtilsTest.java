@@ -0,0 +1,72 @@
+package com.babili.springbootsecurity.util;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JwtUtilsTest {
+    private static final String SECRET =
+            "myVeryLongSecretKeyThatIsAtLeast64BytesLongForHS512AlgorithmToWorkProperlyAndSecurely123456789";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private JwtUtils jwtUtils;
+
+    @BeforeEach
+    public void setUp() {
+        jwtUtils = new JwtUtils(meterRegistry);
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 60_000);
+        jwtUtils.init();
+    }
+
+    @Test
+    public void testValidTokenReturnsClaims() {
+        JwtValidationResult result = jwtUtils.validate(jwtUtils.generateTokenFromUsername("user@example.com"));
+
+        assertThat(result.isValid()).isTrue();
+        assertThat(result.claims().getSubject()).isEqualTo("user@example.com");
+    }
+
+    @Test
+    public void testRejectionsAreTypedAndCounted() {
+        String token = jwtUtils.generateTokenFromUsername("user@example.com");
+        String tampered = token.substring(0, token.lastIndexOf('.') + 1) + "AAAA" + token.substring(token.lastIndexOf('.') + 5);
+        String expired = Jwts.builder()
+                .setSubject("user@example.com")
+                .setExpiration(new Date(System.currentTimeMillis() - 1000))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)), SignatureAlgorithm.HS512)
+                .compact();
+
+        JwtValidationResult forged = jwtUtils.validate(tampered);
+        assertThat(forged.status()).isEqualTo(JwtValidationResult.Status.INVALID_SIGNATURE);
+        assertThat(forged.claims()).isNull();
+        assertThat(jwtUtils.validate(expired).status()).isEqualTo(JwtValidationResult.Status.EXPIRED);
+        assertThat(jwtUtils.validate("not a token").status()).isEqualTo(JwtValidationResult.Status.MALFORMED);
+        assertThat(jwtUtils.validate(token.substring(0, token.lastIndexOf('.') + 1)).status())
+                .isEqualTo(JwtValidationResult.Status.UNSUPPORTED);
+        assertThat(jwtUtils.validate("").status()).isEqualTo(JwtValidationResult.Status.EMPTY);
+
+        assertThat(meterRegistry.get("jwt.validation.failures").tag("reason", "invalid_signature").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("jwt.validation.failures").tag("reason", "expired").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void testEachTokenIsTimedOnce() {
+        jwtUtils.generateTokenFromUsername("user@example.com");
+        jwtUtils.generateJwtToken(User.withUsername("user@example.com").password("").roles("USER").build());
+
+        assertThat(meterRegistry.get("jwt.processing").tag("operation", "sign").timer().count()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,62 @@
+package com.babili.springbootsecurity.exception;
+
+import org.springframework.http.HttpStatus;
+
+import java.util.Locale;
+
+// Expected, non-exceptional end of an auth flow. Failed logins are the most common response under
+// attack, so there is one preallocated, stackless instance per reason and throwing it costs no capture.
+public final class AuthFailureException extends RuntimeException {
+    
+    public enum Reason {
+        USER_NOT_FOUND(HttpStatus.BAD_REQUEST, "User not found"),
+        EMAIL_NOT_VERIFIED(HttpStatus.BAD_REQUEST, "Please verify your email first"),
+        BAD_CREDENTIALS(HttpStatus.BAD_REQUEST, "Bad credentials"),
+        TWO_FACTOR_REQUIRED(HttpStatus.PARTIAL_CONTENT, "Two-factor authentication required"),
+        INVALID_TWO_FACTOR_CODE(HttpStatus.BAD_REQUEST, "Invalid two-factor authentication code"),
+        EMAIL_ALREADY_VERIFIED(HttpStatus.BAD_REQUEST, "Email already verified"),
+        TWO_FACTOR_ALREADY_ENABLED(HttpStatus.BAD_REQUEST, "Two-factor authentication is already enabled"),
+        TWO_FACTOR_NOT_ENABLED(HttpStatus.BAD_REQUEST, "Two-factor authentication is not enabled"),
+        TWO_FACTOR_SETUP_NOT_INITIATED(HttpStatus.BAD_REQUEST, "Two-factor setup not initiated"),
+        INVALID_VERIFICATION_CODE(HttpStatus.BAD_REQUEST, "Invalid verification code");
+        
+        private final HttpStatus status;
+        private final String tag;
+        private final AuthFailureException exception;
+        
+        Reason(HttpStatus status, String message) {
+            this.status = status;
+            this.tag = name().toLowerCase(Locale.ROOT);
+            this.exception = new AuthFailureException(this, message);
+        }
+        
+        public HttpStatus getStatus() {
+            return status;
+        }
+        
+        // Metric tag and JFR outcome, e.g. bad_credentials
+        public String tag() {
+            return tag;
+        }
+        
+        public AuthFailureException exception() {
+            return exception;
+        }
+    }
+    
+    private final Reason reason;
+    
+    // Shared across threads: no stack trace, no suppression and a fixed null cause keep it immutable
+    private AuthFailureException(Reason reason, String message) {
+        super(message, null, false, false);
+        this.reason = reason;
+    }
+    
+    public static AuthFailureException of(Reason reason) {
+        return reason.exception();
+    }
+    
+    public Reason getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,18 @@
+package com.babili.springbootsecurity.security;
+
+import com.babili.springbootsecurity.entity.Role;
+
+// The fields a UserPrincipal is built from; each application's user entity implements it
+public interface UserAccount {
+    Long getId();
+    
+    String getEmail();
+    
+    String getPassword();
+    
+    Role getRole();
+    
+    boolean isEmailVerified();
+    
+    boolean isTwoFactorEnabled();
+}
@@ -1,23 +1,32 @@
 package com.babili.springbootsecurity.security;
 
-import com.babili.springbootsecurity.entity.User;
+import com.babili.springbootsecurity.entity.Role;
 import lombok.Getter;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
-import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 @Getter
 public class UserPrincipal implements UserDetails {
-    private Long id;
-    private String email;
-    private String password;
-    private Collection<? extends GrantedAuthority> authorities;
-    private boolean emailVerified;
-    private boolean twoFactorEnabled;
+    private static final Map<Role, List<GrantedAuthority>> ROLE_AUTHORITIES = new EnumMap<>(Role.class);
+    
+    static {
+        for (Role role : Role.values()) {
+            ROLE_AUTHORITIES.put(role, List.of(new SimpleGrantedAuthority("ROLE_" + role.name())));
+        }
+    }
+    
+    private final Long id;
+    private final String email;
+    private final String password;
+    private final Collection<? extends GrantedAuthority> authorities;
+    private final boolean emailVerified;
+    private final boolean twoFactorEnabled;
     
     public UserPrincipal(Long id, String email, String password, 
                         Collection<? extends GrantedAuthority> authorities,
@@ -30,16 +39,16 @@ public class UserPrincipal implements UserDetails {
         this.twoFactorEnabled = twoFactorEnabled;
     }
     
-    public static UserPrincipal create(User user) {
-        List<GrantedAuthority> authorities = Collections.singletonList(
-                new SimpleGrantedAuthority("ROLE_" + user.getRole().name())
-        );
-        
+    public static List<GrantedAuthority> authoritiesFor(Role role) {
+        return ROLE_AUTHORITIES.get(role);
+    }
+    
+    public static UserPrincipal create(UserAccount user) {
         return new UserPrincipal(
                 user.getId(),
                 user.getEmail(),
                 user.getPassword(),
-                authorities,
+                authoritiesFor(user.getRole()),
                 user.isEmailVerified(),
                 user.isTwoFactorEnabled()
         );
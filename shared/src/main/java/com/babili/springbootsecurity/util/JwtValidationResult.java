@@ -0,0 +1,47 @@
+package com.babili.springbootsecurity.util;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+// Outcome of JwtUtils.validate: the claims of a valid token, or why it was rejected.
+// Rejections are shared constants, so a rejected token allocates nothing here.
+public record JwtValidationResult(Status status, Claims claims) {
+
+    public enum Status {
+        VALID,
+        EXPIRED,
+        INVALID_SIGNATURE,
+        MALFORMED,
+        UNSUPPORTED,
+        EMPTY;
+
+        // Metric tag and log key, e.g. "invalid_signature"
+        public String reason() {
+            return name().toLowerCase();
+        }
+    }
+
+    private static final Map<Status, JwtValidationResult> REJECTIONS = new EnumMap<>(Status.class);
+
+    static {
+        for (Status status : Status.values()) {
+            if (status != Status.VALID) {
+                REJECTIONS.put(status, new JwtValidationResult(status, null));
+            }
+        }
+    }
+
+    public static JwtValidationResult valid(Claims claims) {
+        return new JwtValidationResult(Status.VALID, claims);
+    }
+
+    public static JwtValidationResult rejected(Status status) {
+        return REJECTIONS.get(status);
+    }
+
+    public boolean isValid() {
+        return status == Status.VALID;
+    }
+}
@@ -0,0 +1,107 @@
+package com.babili.springbootsecurity.util;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.UnsupportedJwtException;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+// HS512 token verification shared by both applications. Never throws for a bad token:
+// malformed and forged tokens are rejected by a structural check and an HMAC comparison
+// before the parser sees them, so they cost no exception; only genuinely signed tokens
+// (e.g. expired ones) reach jjwt's exception-based checks.
+public class JwtVerifier {
+    private static final String SIGNATURE_ALGORITHM = "HmacSHA512";
+
+    private final SecretKey signingKey;
+    private final JwtParser jwtParser;
+
+    // Keyed Macs for the signature pre-check; a Mac keeps its key across doFinal calls
+    private final BlockingQueue<Mac> macPool =
+            new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors() * 2);
+
+    public JwtVerifier(SecretKey signingKey) {
+        this.signingKey = signingKey;
+        this.jwtParser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+    }
+
+    public JwtValidationResult verify(String token) {
+        if (token == null || token.isBlank()) {
+            return JwtValidationResult.rejected(JwtValidationResult.Status.EMPTY);
+        }
+
+        int firstDot = token.indexOf('.');
+        int secondDot = firstDot > 0 ? token.indexOf('.', firstDot + 1) : -1;
+        if (secondDot < 0 || token.indexOf('.', secondDot + 1) >= 0 || !isBase64UrlToken(token)) {
+            return JwtValidationResult.rejected(JwtValidationResult.Status.MALFORMED);
+        }
+        if (secondDot == token.length() - 1) {
+            // Unsigned ("alg": "none") tokens are never accepted
+            return JwtValidationResult.rejected(JwtValidationResult.Status.UNSUPPORTED);
+        }
+        if (!signatureMatches(token, secondDot)) {
+            return JwtValidationResult.rejected(JwtValidationResult.Status.INVALID_SIGNATURE);
+        }
+
+        try {
+            return JwtValidationResult.valid(jwtParser.parseClaimsJws(token).getBody());
+        } catch (ExpiredJwtException e) {
+            return JwtValidationResult.rejected(JwtValidationResult.Status.EXPIRED);
+        } catch (UnsupportedJwtException e) {
+            return JwtValidationResult.rejected(JwtValidationResult.Status.UNSUPPORTED);
+        } catch (JwtException | IllegalArgumentException e) {
+            return JwtValidationResult.rejected(JwtValidationResult.Status.MALFORMED);
+        }
+    }
+
+    private static boolean isBase64UrlToken(String token) {
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (!((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_' || c == '.')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // HS512 over "header.payload", compared in constant time with the token's signature
+    private boolean signatureMatches(String token, int signatureDot) {
+        byte[] signature;
+        try {
+            signature = Base64.getUrlDecoder().decode(token.substring(signatureDot + 1));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+
+        Mac mac = macPool.poll();
+        if (mac == null) {
+            mac = newMac();
+        }
+        try {
+            byte[] expected = mac.doFinal(token.substring(0, signatureDot).getBytes(StandardCharsets.US_ASCII));
+            return MessageDigest.isEqual(expected, signature);
+        } finally {
+            macPool.offer(mac);
+        }
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(SIGNATURE_ALGORITHM);
+            mac.init(signingKey);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(SIGNATURE_ALGORITHM + " is not available", e);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.babili.springbootsecurity.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.WriterException;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+// Renders QR codes straight from the BitMatrix, without AWT/ImageIO
+@Component
+public class QrCodeRenderer {
+    private static final int PNG_SIZE = 200;
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'};
+
+    public enum Format {
+        PNG(MediaType.IMAGE_PNG),
+        SVG(MediaType.valueOf("image/svg+xml"));
+
+        private final MediaType mediaType;
+
+        Format(MediaType mediaType) {
+            this.mediaType = mediaType;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+    }
+
+    public record QrCodeImage(byte[] content, Format format, String etag) {
+    }
+
+    private final Cache<String, QrCodeImage> cache;
+
+    public QrCodeRenderer(@Value("${app.two-factor.qr-cache-size:1000}") long cacheSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .build();
+    }
+
+    // Cached by a hash of the otpauth URL, so the secret itself is never used as a key
+    public QrCodeImage render(String otpauthUrl, Format format) {
+        String etag = sha256(otpauthUrl) + "-" + format.name().toLowerCase();
+        return cache.get(etag, key -> new QrCodeImage(encode(otpauthUrl, format), format, "\"" + key + "\""));
+    }
+
+    private static byte[] encode(String otpauthUrl, Format format) {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            if (format == Format.SVG) {
+                // Smallest matrix; the SVG scales without loss
+                writeSvg(new QRCodeWriter().encode(otpauthUrl, BarcodeFormat.QR_CODE, 0, 0), out);
+            } else {
+                writePng(new QRCodeWriter().encode(otpauthUrl, BarcodeFormat.QR_CODE, PNG_SIZE, PNG_SIZE), out);
+            }
+            return out.toByteArray();
+        } catch (WriterException | IOException e) {
+            throw new IllegalStateException("Cannot render QR code", e);
+        }
+    }
+
+    // 1-bit grayscale PNG: IHDR, a single deflated IDAT and IEND
+    static void writePng(BitMatrix matrix, OutputStream out) throws IOException {
+        int width = matrix.getWidth();
+        int height = matrix.getHeight();
+        int rowBytes = (width + 7) / 8;
+
+        ByteArrayOutputStream header = new ByteArrayOutputStream(13);
+        DataOutputStream headerData = new DataOutputStream(header);
+        headerData.writeInt(width);
+        headerData.writeInt(height);
+        headerData.writeByte(1); // bit depth
+        headerData.writeByte(0); // color type: grayscale
+        headerData.writeByte(0); // compression
+        headerData.writeByte(0); // filter
+        headerData.writeByte(0); // interlace
+
+        ByteArrayOutputStream pixels = new ByteArrayOutputStream(height * (rowBytes + 1) / 4);
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (DeflaterOutputStream deflated = new DeflaterOutputStream(pixels, deflater)) {
+            byte[] row = new byte[rowBytes + 1]; // leading filter byte stays 0 (none)
+            for (int y = 0; y < height; y++) {
+                for (int i = 1; i < row.length; i++) {
+                    row[i] = 0;
+                }
+                for (int x = 0; x < width; x++) {
+                    // In grayscale a set bit is white, while a set matrix bit is a dark module
+                    if (!matrix.get(x, y)) {
+                        row[1 + (x >> 3)] |= (byte) (0x80 >>> (x & 7));
+                    }
+                }
+                deflated.write(row);
+            }
+        } finally {
+            deflater.end();
+        }
+
+        out.write(PNG_SIGNATURE);
+        writeChunk(out, "IHDR", header.toByteArray());
+        writeChunk(out, "IDAT", pixels.toByteArray());
+        writeChunk(out, "IEND", new byte[0]);
+    }
+
+    static void writeSvg(BitMatrix matrix, OutputStream out) throws IOException {
+        int width = matrix.getWidth();
+        int height = matrix.getHeight();
+
+        StringBuilder svg = new StringBuilder(width * height);
+        svg.append("<svg xmlns=\"http://www.w3.org/2000/svg\" viewBox=\"0 0 ")
+                .append(width).append(' ').append(height)
+                .append("\" shape-rendering=\"crispEdges\"><rect width=\"100%\" height=\"100%\" fill=\"#fff\"/><path d=\"");
+        for (int y = 0; y < height; y++) {
+            int x = 0;
+            while (x < width) {
+                if (!matrix.get(x, y)) {
+                    x++;
+                    continue;
+                }
+                int start = x;
+                while (x < width && matrix.get(x, y)) {
+                    x++;
+                }
+                svg.append('M').append(start).append(' ').append(y)
+                        .append('h').append(x - start).append("v1h-").append(x - start).append('z');
+            }
+        }
+        svg.append("\"/></svg>");
+        out.write(svg.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writeChunk(OutputStream out, String type, byte[] data) throws IOException {
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data);
+
+        DataOutputStream chunk = new DataOutputStream(out);
+        chunk.writeInt(data.length);
+        chunk.write(typeBytes);
+        chunk.write(data);
+        chunk.writeInt((int) crc.getValue());
+        chunk.flush();
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.babili.springbootsecurity.util;
+
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Logs at most one message per key and interval; the others are only counted, and the count
+// is reported with the next message that gets through. Keys must come from a small fixed
+// set (e.g. an enum), never from request data.
+public class RateLimitedLogger {
+    private final Logger logger;
+    private final long intervalNanos;
+    private final ConcurrentMap<String, Window> windows = new ConcurrentHashMap<>();
+
+    private static final class Window {
+        private final AtomicLong nextLogAt = new AtomicLong(System.nanoTime());
+        private final LongAdder suppressed = new LongAdder();
+    }
+
+    public RateLimitedLogger(Logger logger, Duration interval) {
+        this.logger = logger;
+        this.intervalNanos = interval.toNanos();
+    }
+
+    public void warn(String key, String format, Object... args) {
+        if (!logger.isWarnEnabled()) {
+            return;
+        }
+        Window window = windows.computeIfAbsent(key, k -> new Window());
+        long now = System.nanoTime();
+        long nextLogAt = window.nextLogAt.get();
+        if (now - nextLogAt < 0 || !window.nextLogAt.compareAndSet(nextLogAt, now + intervalNanos)) {
+            window.suppressed.increment();
+            return;
+        }
+
+        long suppressed = window.suppressed.sumThenReset();
+        if (suppressed == 0) {
+            logger.warn(format, args);
+            return;
+        }
+        Object[] withCount = Arrays.copyOf(args, args.length + 1);
+        withCount[args.length] = suppressed;
+        logger.warn(format + " ({} similar messages suppressed)", withCount);
+    }
+}
@@ -0,0 +1,150 @@
+package com.babili.springbootsecurity.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.commons.codec.binary.Base32;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.InvalidKeyException;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentMap;
+
+// RFC 6238 TOTP with the same parameters GoogleAuthenticator uses by default:
+// HMAC-SHA1, 30 second steps, 6 digits and one step of clock drift either way
+@Component
+public class TotpVerifier {
+    private static final String ALGORITHM = "HmacSHA1";
+    private static final long TIME_STEP_MS = 30_000;
+    private static final int WINDOW = 1;
+    private static final int CODE_DIGITS = 6;
+    private static final int KEY_MODULUS = 1_000_000;
+    private static final int HMAC_LENGTH = 20;
+
+    // A shared pool rather than a ThreadLocal: virtual threads are never reused, so a
+    // ThreadLocal would allocate a fresh Mac per request in that mode
+    private static final BlockingQueue<HmacScratch> SCRATCH_POOL =
+            new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors() * 2);
+
+    private final Cache<String, SecretKeySpec> decodedSecrets;
+    private final ConcurrentMap<String, Long> lastUsedSteps;
+
+    public TotpVerifier(@Value("${app.two-factor.secret-cache-size:10000}") long secretCacheSize,
+                        @Value("${app.two-factor.replay-cache-size:100000}") long replayCacheSize) {
+        this.decodedSecrets = Caffeine.newBuilder()
+                .maximumSize(secretCacheSize)
+                .build();
+        // Once the whole window has passed, every acceptable step is newer than the one
+        // remembered here, so the entry is no longer needed
+        this.lastUsedSteps = Caffeine.newBuilder()
+                .maximumSize(replayCacheSize)
+                .expireAfterWrite(Duration.ofMillis(TIME_STEP_MS * (2 * WINDOW + 1)))
+                .<String, Long>build()
+                .asMap();
+    }
+
+    public boolean verify(String secret, int code) {
+        if (code < 0 || code >= KEY_MODULUS) {
+            return false;
+        }
+
+        SecretKeySpec key = decodedSecrets.get(secret, TotpVerifier::decode);
+        HmacScratch scratch = SCRATCH_POOL.poll();
+        if (scratch == null) {
+            scratch = new HmacScratch();
+        }
+        try {
+            scratch.mac.init(key);
+            long currentStep = System.currentTimeMillis() / TIME_STEP_MS;
+            for (long step = currentStep - WINDOW; step <= currentStep + WINDOW; step++) {
+                if (scratch.code(step) == code) {
+                    return markUsed(secret, step);
+                }
+            }
+            return false;
+        } catch (InvalidKeyException e) {
+            return false;
+        } finally {
+            SCRATCH_POOL.offer(scratch);
+        }
+    }
+
+    // Accepts codes typed with spaces ("123 456"); returns -1 for anything else
+    public static int parseCode(String code) {
+        int value = 0;
+        int digits = 0;
+        for (int i = 0; i < code.length(); i++) {
+            char c = code.charAt(i);
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            if (c < '0' || c > '9' || ++digits > CODE_DIGITS) {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return digits == 0 ? -1 : value;
+    }
+
+    // A step is accepted only once per secret, and never one older than the last accepted step
+    private boolean markUsed(String secret, long step) {
+        while (true) {
+            Long lastUsed = lastUsedSteps.get(secret);
+            if (lastUsed == null) {
+                if (lastUsedSteps.putIfAbsent(secret, step) == null) {
+                    return true;
+                }
+            } else if (lastUsed >= step) {
+                return false;
+            } else if (lastUsedSteps.replace(secret, lastUsed, step)) {
+                return true;
+            }
+        }
+    }
+
+    private static SecretKeySpec decode(String secret) {
+        return new SecretKeySpec(new Base32().decode(secret), ALGORITHM);
+    }
+
+    private static final class HmacScratch {
+        private final Mac mac;
+        private final byte[] counter = new byte[Long.BYTES];
+        private final byte[] hash = new byte[HMAC_LENGTH];
+
+        private HmacScratch() {
+            try {
+                mac = Mac.getInstance(ALGORITHM);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(ALGORITHM + " is not available", e);
+            }
+        }
+
+        private int code(long step) {
+            for (int i = Long.BYTES - 1; i >= 0; i--) {
+                counter[i] = (byte) step;
+                step >>>= 8;
+            }
+
+            mac.update(counter);
+            try {
+                mac.doFinal(hash, 0);
+            } catch (ShortBufferException e) {
+                throw new IllegalStateException(e);
+            }
+
+            // Dynamic truncation, RFC 4226 section 5.3
+            int offset = hash[HMAC_LENGTH - 1] & 0xf;
+            int binary = ((hash[offset] & 0x7f) << 24)
+                    | ((hash[offset + 1] & 0xff) << 16)
+                    | ((hash[offset + 2] & 0xff) << 8)
+                    | (hash[offset + 3] & 0xff);
+            return binary % KEY_MODULUS;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.babili.springbootsecurity.util;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class QrCodeRendererTest {
+
+    private static final String URL = "otpauth://totp/SpringBootSecurity:user@example.com?secret=JBSWY3DPEHPK3PXP";
+
+    private final QrCodeRenderer renderer = new QrCodeRenderer(10);
+
+    @Test
+    public void testPngMatchesBitMatrix() throws Exception {
+        BitMatrix matrix = new QRCodeWriter().encode(URL, BarcodeFormat.QR_CODE, 200, 200);
+
+        byte[] png = renderer.render(URL, QrCodeRenderer.Format.PNG).content();
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+
+        assertThat(image.getWidth()).isEqualTo(200);
+        assertThat(image.getHeight()).isEqualTo(200);
+        for (int y = 0; y < 200; y++) {
+            for (int x = 0; x < 200; x++) {
+                boolean dark = (image.getRGB(x, y) & 0xffffff) == 0;
+                assertThat(dark).isEqualTo(matrix.get(x, y));
+            }
+        }
+    }
+
+    @Test
+    public void testSvgOutput() {
+        String svg = new String(renderer.render(URL, QrCodeRenderer.Format.SVG).content(), StandardCharsets.UTF_8);
+
+        assertThat(svg).startsWith("<svg xmlns=\"http://www.w3.org/2000/svg\"");
+        assertThat(svg).contains("<path d=\"M").endsWith("</svg>");
+    }
+
+    @Test
+    public void testRenderingIsCachedPerUrlAndFormat() {
+        QrCodeRenderer.QrCodeImage png = renderer.render(URL, QrCodeRenderer.Format.PNG);
+        QrCodeRenderer.QrCodeImage svg = renderer.render(URL, QrCodeRenderer.Format.SVG);
+
+        assertThat(renderer.render(URL, QrCodeRenderer.Format.PNG)).isSameAs(png);
+        assertThat(png.etag()).isNotEqualTo(svg.etag());
+        assertThat(png.etag()).doesNotContain("JBSWY3DPEHPK3PXP");
+        assertThat(renderer.render(URL + "X", QrCodeRenderer.Format.PNG).etag()).isNotEqualTo(png.etag());
+    }
+}
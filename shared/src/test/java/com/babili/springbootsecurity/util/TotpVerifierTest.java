@@ -0,0 +1,56 @@
+package com.babili.springbootsecurity.util;
+
+import com.warrenstrange.googleauth.GoogleAuthenticator;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TotpVerifierTest {
+    
+    private final GoogleAuthenticator gAuth = new GoogleAuthenticator();
+    private final TotpVerifier totpVerifier = new TotpVerifier(100, 100);
+    
+    @Test
+    public void testAcceptsCodeGeneratedByGoogleAuthenticator() {
+        String secret = gAuth.createCredentials().getKey();
+        
+        assertThat(totpVerifier.verify(secret, gAuth.getTotpPassword(secret))).isTrue();
+    }
+    
+    @Test
+    public void testRejectsReplayedCode() {
+        String secret = gAuth.createCredentials().getKey();
+        int code = gAuth.getTotpPassword(secret);
+        
+        assertThat(totpVerifier.verify(secret, code)).isTrue();
+        assertThat(totpVerifier.verify(secret, code)).isFalse();
+    }
+    
+    @Test
+    public void testRejectsWrongAndOutOfRangeCodes() {
+        String secret = gAuth.createCredentials().getKey();
+        int code = gAuth.getTotpPassword(secret);
+        
+        assertThat(totpVerifier.verify(secret, (code + 1) % 1_000_000)).isFalse();
+        assertThat(totpVerifier.verify(secret, 1_000_000)).isFalse();
+        assertThat(totpVerifier.verify(secret, -1)).isFalse();
+    }
+    
+    @Test
+    public void testSameCodeIsAcceptedForDifferentSecrets() {
+        String firstSecret = gAuth.createCredentials().getKey();
+        String secondSecret = gAuth.createCredentials().getKey();
+        
+        assertThat(totpVerifier.verify(firstSecret, gAuth.getTotpPassword(firstSecret))).isTrue();
+        assertThat(totpVerifier.verify(secondSecret, gAuth.getTotpPassword(secondSecret))).isTrue();
+    }
+    
+    @Test
+    public void testParseCode() {
+        assertThat(TotpVerifier.parseCode("012345")).isEqualTo(12345);
+        assertThat(TotpVerifier.parseCode("123 456")).isEqualTo(123456);
+        assertThat(TotpVerifier.parseCode("1234567")).isEqualTo(-1);
+        assertThat(TotpVerifier.parseCode("12a456")).isEqualTo(-1);
+        assertThat(TotpVerifier.parseCode(" ")).isEqualTo(-1);
+    }
+}
@@ -1,14 +0,0 @@
-package com.babili.springbootsecurity.repository;
-
-import com.babili.springbootsecurity.entity.EmailVerificationToken;
-import com.babili.springbootsecurity.entity.User;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.stereotype.Repository;
-
-import java.util.Optional;
-
-@Repository
-public interface EmailVerificationTokenRepository extends JpaRepository<EmailVerificationToken, Long> {
-    Optional<EmailVerificationToken> findByToken(String token);
-    void deleteByUser(User user);
-}
\ No newline at end of file
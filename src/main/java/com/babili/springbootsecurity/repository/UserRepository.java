@@ -1,13 +0,0 @@
-package com.babili.springbootsecurity.repository;
-
-import com.babili.springbootsecurity.entity.User;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.stereotype.Repository;
-
-import java.util.Optional;
-
-@Repository
-public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findByEmail(String email);
-    boolean existsByEmail(String email);
-}
\ No newline at end of file
@@ -1,103 +0,0 @@
-package com.babili.springbootsecurity.controller;
-
-import com.babili.springbootsecurity.dto.MessageResponse;
-import com.babili.springbootsecurity.dto.RegisterRequest;
-import com.babili.springbootsecurity.entity.User;
-import com.babili.springbootsecurity.repository.UserRepository;
-import com.babili.springbootsecurity.service.EmailService;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import org.junit.jupiter.api.Test;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
-import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.test.context.bean.override.mockito.MockitoBean;
-import org.springframework.http.MediaType;
-import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.test.context.TestPropertySource;
-import org.springframework.test.web.servlet.MockMvc;
-import org.springframework.transaction.annotation.Transactional;
-
-import static org.assertj.core.api.Assertions.assertThat;
-import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
-
-@SpringBootTest
-@AutoConfigureMockMvc
-@TestPropertySource(properties = {
-    "spring.datasource.url=jdbc:h2:mem:testdb",
-    "spring.datasource.driver-class-name=org.h2.Driver",
-    "spring.jpa.hibernate.ddl-auto=create-drop"
-})
-@Transactional
-public class AuthControllerTest {
-    
-    @Autowired
-    private MockMvc mockMvc;
-    
-    @Autowired
-    private UserRepository userRepository;
-    
-    @Autowired
-    private PasswordEncoder passwordEncoder;
-    
-    @Autowired
-    private ObjectMapper objectMapper;
-    
-    @MockitoBean
-    private EmailService emailService;
-    
-    @Test
-    public void testUserRegistration() throws Exception {
-        RegisterRequest request = new RegisterRequest();
-        request.setEmail("test@example.com");
-        request.setPassword("password123");
-        request.setFirstName("Test");
-        request.setLastName("User");
-        
-        mockMvc.perform(post("/api/auth/register")
-                .contentType(MediaType.APPLICATION_JSON)
-                .content(objectMapper.writeValueAsString(request)))
-                .andExpect(status().isOk())
-                .andExpect(jsonPath("$.message").value("User registered successfully! Please check your email to verify your account."));
-        
-        assertThat(userRepository.existsByEmail("test@example.com")).isTrue();
-    }
-    
-    @Test
-    public void testUserRegistrationWithExistingEmail() throws Exception {
-        // Create a user first
-        User existingUser = User.builder()
-                .email("existing@example.com")
-                .password(passwordEncoder.encode("password123"))
-                .firstName("Existing")
-                .lastName("User")
-                .build();
-        userRepository.save(existingUser);
-        
-        RegisterRequest request = new RegisterRequest();
-        request.setEmail("existing@example.com");
-        request.setPassword("password123");
-        request.setFirstName("Test");
-        request.setLastName("User");
-        
-        mockMvc.perform(post("/api/auth/register")
-                .contentType(MediaType.APPLICATION_JSON)
-                .content(objectMapper.writeValueAsString(request)))
-                .andExpect(status().isBadRequest())
-                .andExpect(jsonPath("$.message").value("Email already exists"));
-    }
-    
-    @Test
-    public void testUserRegistrationWithInvalidData() throws Exception {
-        RegisterRequest request = new RegisterRequest();
-        request.setEmail("invalid-email");
-        request.setPassword("123"); // Too short
-        request.setFirstName("");
-        request.setLastName("");
-        
-        mockMvc.perform(post("/api/auth/register")
-                .contentType(MediaType.APPLICATION_JSON)
-                .content(objectMapper.writeValueAsString(request)))
-                .andExpect(status().isBadRequest());
-    }
-}
\ No newline at end of file